@@ -1,6 +1,9 @@
 CREATE EXTENSION IF NOT EXISTS postgis;
 CREATE EXTENSION IF NOT EXISTS "uuid-ossp";
+CREATE EXTENSION IF NOT EXISTS btree_gist;
 
+DROP TABLE IF EXISTS payment_outbox CASCADE;
+DROP TABLE IF EXISTS daily_station_metrics CASCADE;
 DROP TABLE IF EXISTS blogs CASCADE;
 DROP TABLE IF EXISTS feedbacks CASCADE;
 DROP TABLE IF EXISTS payments CASCADE;
@@ -69,6 +72,7 @@ CREATE TABLE vehicles (
     polices TEXT[],
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0,
     CONSTRAINT fk_vehicle_station FOREIGN KEY (station_id) REFERENCES stations(id) ON DELETE CASCADE,
     CONSTRAINT chk_vehicle_fuel_type CHECK (fuel_type IN ('GASOLINE', 'ELECTRICITY')),
     CONSTRAINT chk_vehicle_status CHECK (status IN ('AVAILABLE', 'RENTED', 'MAINTENANCE', 'CHARGING', 'UNAVAILABLE')),
@@ -98,6 +102,7 @@ CREATE TABLE bookings (
     payment_status VARCHAR(20),
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0,
     CONSTRAINT fk_booking_renter FOREIGN KEY (renter_id) REFERENCES users(id) ON DELETE RESTRICT,
     CONSTRAINT fk_booking_vehicle FOREIGN KEY (vehicle_id) REFERENCES vehicles(id) ON DELETE RESTRICT,
     CONSTRAINT fk_booking_station FOREIGN KEY (station_id) REFERENCES stations(id) ON DELETE RESTRICT,
@@ -106,7 +111,12 @@ CREATE TABLE bookings (
     CONSTRAINT chk_booking_status CHECK (status IN ('PENDING', 'CONFIRMED', 'ONGOING', 'COMPLETED', 'CANCELLED')),
     CONSTRAINT chk_booking_payment_status CHECK (payment_status IN ('PENDING', 'PAID', 'FAILED', 'PARTIALLY_PAID')),
     CONSTRAINT chk_booking_times CHECK (expected_end_time > start_time),
-    CONSTRAINT chk_booking_amounts CHECK (base_price >= 0 AND PARTIALLY_PAID >= 0 AND extra_fee >= 0 AND total_amount >= 0)
+    CONSTRAINT chk_booking_amounts CHECK (base_price >= 0 AND PARTIALLY_PAID >= 0 AND extra_fee >= 0 AND total_amount >= 0),
+    -- No two active bookings of a vehicle may overlap; ranges are half-open so back-to-back bookings are allowed
+    CONSTRAINT ex_bookings_vehicle_period EXCLUDE USING gist (
+        vehicle_id WITH =,
+        tsrange(start_time, expected_end_time, '[)') WITH &&
+    ) WHERE (status NOT IN ('CANCELLED', 'COMPLETED'))
 );
 
 CREATE TABLE payments (
@@ -117,13 +127,16 @@ CREATE TABLE payments (
     status VARCHAR(20),
     processed_by UUID,
     transaction_id VARCHAR(255),
+    gateway_trans_id BIGINT,
     paid_at TIMESTAMP,
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     CONSTRAINT fk_payment_booking FOREIGN KEY (booking_id) REFERENCES bookings(id) ON DELETE SET NULL,
     CONSTRAINT fk_payment_processed_by FOREIGN KEY (processed_by) REFERENCES users(id) ON DELETE SET NULL,
     CONSTRAINT chk_payment_method CHECK (payment_method IN ('CASH', 'MOMO')),
     CONSTRAINT chk_payment_status CHECK (status IN ('PENDING', 'PAID', 'FAILED', 'PARTIALLY_PAID')),
-    CONSTRAINT chk_payment_amount CHECK (amount >= 0)
+    CONSTRAINT chk_payment_amount CHECK (amount >= 0),
+    CONSTRAINT uk_payments_transaction_id UNIQUE (transaction_id),
+    CONSTRAINT uk_payments_gateway_trans_id UNIQUE (gateway_trans_id)
 );
 
 CREATE TABLE feedbacks (
@@ -154,12 +167,14 @@ CREATE INDEX idx_users_email ON users(email);
 CREATE INDEX idx_users_role ON users(role);
 CREATE INDEX idx_users_cognito_sub ON users(cognito_sub);
 CREATE INDEX idx_users_station_id ON users(station_id);
+CREATE INDEX idx_users_created_at_id ON users(created_at DESC, id DESC);
 
 CREATE INDEX idx_vehicles_station_id ON vehicles(station_id);
 CREATE INDEX idx_vehicles_status ON vehicles(status);
 CREATE INDEX idx_vehicles_fuel_type ON vehicles(fuel_type);
 CREATE INDEX idx_vehicles_brand ON vehicles(brand);
 CREATE INDEX idx_vehicles_license_plate ON vehicles(license_plate);
+CREATE INDEX idx_vehicles_created_at_id ON vehicles(created_at DESC, id DESC);
 
 CREATE INDEX idx_bookings_renter_id ON bookings(renter_id);
 CREATE INDEX idx_bookings_vehicle_id ON bookings(vehicle_id);
@@ -168,13 +183,14 @@ CREATE INDEX idx_bookings_status ON bookings(status);
 CREATE INDEX idx_bookings_payment_status ON bookings(payment_status);
 CREATE INDEX idx_bookings_start_time ON bookings(start_time);
 CREATE INDEX idx_bookings_booking_code ON bookings(booking_code);
+CREATE INDEX idx_bookings_created_at_id ON bookings(created_at DESC, id DESC);
 
 CREATE INDEX idx_payments_booking_id ON payments(booking_id);
 CREATE INDEX idx_payments_status ON payments(status);
-CREATE INDEX idx_payments_transaction_id ON payments(transaction_id);
 
 CREATE INDEX idx_feedbacks_booking_id ON feedbacks(booking_id);
 CREATE INDEX idx_feedbacks_renter_id ON feedbacks(renter_id);
+CREATE INDEX idx_feedbacks_created_at_id ON feedbacks(created_at DESC, id DESC);
 
 CREATE TABLE blogs (
     id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
@@ -195,6 +211,48 @@ CREATE INDEX idx_blogs_published ON blogs(published);
 CREATE INDEX idx_blogs_published_at ON blogs(published_at);
 CREATE INDEX idx_blogs_view_count ON blogs(view_count);
 
+CREATE TABLE daily_station_metrics (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    metric_date DATE NOT NULL,
+    station_id UUID NOT NULL,
+    bookings_created BIGINT NOT NULL DEFAULT 0,
+    bookings_completed BIGINT NOT NULL DEFAULT 0,
+    bookings_cancelled BIGINT NOT NULL DEFAULT 0,
+    revenue NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    rental_revenue NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    extra_fees NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    late_fees NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    collected_amount NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    active_minutes BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_daily_station_metrics_date_station UNIQUE (metric_date, station_id)
+);
+
+CREATE INDEX idx_daily_station_metrics_station_id ON daily_station_metrics(station_id);
+
+CREATE TABLE payment_outbox (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    payment_id UUID NOT NULL,
+    booking_id UUID NOT NULL,
+    amount NUMERIC(10, 2) NOT NULL,
+    order_id VARCHAR(255) NOT NULL,
+    order_info VARCHAR(255) NOT NULL,
+    is_deposit BOOLEAN NOT NULL DEFAULT FALSE,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_error TEXT,
+    sent_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_payment_outbox_payment UNIQUE (payment_id),
+    CONSTRAINT uk_payment_outbox_order UNIQUE (order_id),
+    CONSTRAINT fk_payment_outbox_payment FOREIGN KEY (payment_id) REFERENCES payments(id) ON DELETE CASCADE,
+    CONSTRAINT chk_payment_outbox_status CHECK (status IN ('PENDING', 'SENT', 'DEAD'))
+);
+
+CREATE INDEX idx_payment_outbox_status_next_attempt ON payment_outbox(status, next_attempt_at);
+
 INSERT INTO stations (name, address, latitude, longitude, hotline, status, photo, start_time, end_time, location) VALUES
 ('Station A', '123 Main Street, District 1, Ho Chi Minh City', 10.762622, 106.660172, '+84901234567', 'ACTIVE', 'https://example.com/station-a.jpg', '2024-01-01 06:00:00', '2024-01-01 22:00:00', ST_SetSRID(ST_MakePoint(106.660172, 10.762622), 4326)),
 ('Station B', '456 Nguyen Hue Blvd, District 1, Ho Chi Minh City', 10.774929, 106.701234, '+84901234568', 'ACTIVE', 'https://example.com/station-b.jpg', '2024-01-01 07:00:00', '2024-01-01 21:00:00', ST_SetSRID(ST_MakePoint(106.701234, 10.774929), 4326)),
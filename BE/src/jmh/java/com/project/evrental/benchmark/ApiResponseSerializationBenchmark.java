@@ -0,0 +1,83 @@
+package com.project.evrental.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.project.evrental.domain.ApiResponse;
+import com.project.evrental.domain.dto.response.BookingDetailResponse;
+import com.project.evrental.domain.dto.response.VehicleResponse;
+import com.project.evrental.domain.entity.Station;
+import com.project.evrental.mapper.BookingMapper;
+import com.project.evrental.mapper.StationMapper;
+import com.project.evrental.mapper.VehicleMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Writing {@link ApiResponse} envelopes to JSON bytes, as the message converter does for a booking
+ * detail and for a vehicle list page of {@code pageSize} entries. The mapper is configured like
+ * Spring Boot's default one (java.time as ISO strings).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectWriter writer;
+    private ApiResponse<BookingDetailResponse> bookingDetail;
+    private ApiResponse<List<VehicleResponse>> vehiclePage;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writer();
+
+        bookingDetail = ApiResponse.<BookingDetailResponse>builder()
+                .statusCode(200)
+                .message("Booking retrieved successfully")
+                .data(new BookingMapper(new StationMapper()).toDetailResponse(BenchmarkFixtures.booking()))
+                .responseAt(BenchmarkFixtures.NOW)
+                .build();
+
+        Station station = BenchmarkFixtures.station();
+        vehiclePage = ApiResponse.<List<VehicleResponse>>builder()
+                .statusCode(200)
+                .message("Vehicles retrieved successfully")
+                .data(IntStream.range(0, pageSize)
+                        .mapToObj(i -> VehicleMapper.toResponse(BenchmarkFixtures.vehicle(station)))
+                        .toList())
+                .responseAt(BenchmarkFixtures.NOW)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] bookingDetail() throws Exception {
+        return writer.writeValueAsBytes(bookingDetail);
+    }
+
+    @Benchmark
+    public byte[] vehiclePage() throws Exception {
+        return writer.writeValueAsBytes(vehiclePage);
+    }
+}
@@ -0,0 +1,114 @@
+package com.project.evrental.benchmark;
+
+import com.project.evrental.domain.common.BookingStatus;
+import com.project.evrental.domain.common.BookingType;
+import com.project.evrental.domain.common.FuelType;
+import com.project.evrental.domain.common.PaymentStatus;
+import com.project.evrental.domain.common.StationStatus;
+import com.project.evrental.domain.common.UserRole;
+import com.project.evrental.domain.common.VehicleStatus;
+import com.project.evrental.domain.entity.Booking;
+import com.project.evrental.domain.entity.Station;
+import com.project.evrental.domain.entity.User;
+import com.project.evrental.domain.entity.Vehicle;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/** Detached, fully populated entities shaped like production rows, shared by the benchmarks. */
+final class BenchmarkFixtures {
+
+    static final LocalDateTime NOW = LocalDateTime.of(2025, 11, 3, 9, 30);
+
+    private BenchmarkFixtures() {
+    }
+
+    static Station station() {
+        return Station.builder()
+                .id(UUID.randomUUID())
+                .name("EV Station Quận 1")
+                .address("12 Nguyễn Huệ, Bến Nghé, Quận 1, TP. Hồ Chí Minh")
+                .rating(4.6)
+                .latitude(new BigDecimal("10.7743210"))
+                .longitude(new BigDecimal("106.7038120"))
+                .hotline("1900 6868")
+                .status(StationStatus.ACTIVE)
+                .photo("https://cdn.example.com/stations/q1.jpg")
+                .startTime(NOW.withHour(6).withMinute(0))
+                .endTime(NOW.withHour(22).withMinute(0))
+                .createdAt(NOW.minusMonths(6))
+                .updatedAt(NOW.minusDays(2))
+                .build();
+    }
+
+    static Vehicle vehicle(Station station) {
+        return Vehicle.builder()
+                .id(UUID.randomUUID())
+                .station(station)
+                .licensePlate("51H-123.45")
+                .name("VinFast VF 8 Plus")
+                .brand("VinFast")
+                .color("Xanh dương")
+                .fuelType(FuelType.ELECTRICITY)
+                .rating(4.8)
+                .capacity(5)
+                .rentCount(128)
+                .photos(new String[]{
+                        "https://cdn.example.com/vehicles/vf8-1.jpg",
+                        "https://cdn.example.com/vehicles/vf8-2.jpg",
+                        "https://cdn.example.com/vehicles/vf8-3.jpg"})
+                .status(VehicleStatus.AVAILABLE)
+                .hourlyRate(new BigDecimal("120000.00"))
+                .dailyRate(new BigDecimal("1500000.00"))
+                .depositAmount(new BigDecimal("5000000.00"))
+                .createdAt(NOW.minusMonths(3))
+                .updatedAt(NOW.minusHours(5))
+                .build();
+    }
+
+    static User user(UserRole role) {
+        return User.builder()
+                .id(UUID.randomUUID())
+                .email("nguyen.van.a@example.com")
+                .fullName("Nguyễn Văn A")
+                .phone("0901234567")
+                .address("45 Lê Lợi, Quận 1, TP. Hồ Chí Minh")
+                .cognitoSub(UUID.randomUUID().toString())
+                .avatarUrl("https://avatar.iran.liara.run/public/42")
+                .role(role)
+                .licenseNumber("790123456789")
+                .isLicenseVerified(true)
+                .verifiedAt(NOW.minusMonths(1))
+                .createdAt(NOW.minusMonths(2))
+                .updatedAt(NOW.minusDays(7))
+                .build();
+    }
+
+    static Booking booking() {
+        Station station = station();
+        return Booking.builder()
+                .id(UUID.randomUUID())
+                .bookingCode("BK1730000000000ABC123")
+                .renter(user(UserRole.RENTER))
+                .vehicle(vehicle(station))
+                .station(station)
+                .bookingType(BookingType.ADVANCE)
+                .startTime(NOW)
+                .expectedEndTime(NOW.plusHours(34))
+                .actualEndTime(NOW.plusHours(37))
+                .status(BookingStatus.COMPLETED)
+                .checkedOutBy(user(UserRole.STAFF))
+                .checkedInBy(user(UserRole.STAFF))
+                .basePrice(new BigDecimal("2700000.00"))
+                .depositPaid(new BigDecimal("5000000.00"))
+                .extraFee(new BigDecimal("540000.00"))
+                .totalAmount(new BigDecimal("8240000.00"))
+                .pickupNote("Xe đầy pin, không trầy xước")
+                .returnNote("Trả trễ 3 giờ")
+                .paymentStatus(PaymentStatus.PARTIALLY_PAID)
+                .createdAt(NOW.minusDays(1))
+                .updatedAt(NOW.plusHours(37))
+                .build();
+    }
+}
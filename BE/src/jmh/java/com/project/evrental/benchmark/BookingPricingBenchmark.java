@@ -0,0 +1,51 @@
+package com.project.evrental.benchmark;
+
+import com.project.evrental.service.BookingPricing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@link BookingPricing} arithmetic behind {@code BookingService.createBooking} (same-day and
+ * multi-day rentals) and {@code completeBooking} (late fee for a late return).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingPricingBenchmark {
+
+    private final BigDecimal dailyRate = new BigDecimal("1500000.00");
+    private final BigDecimal hourlyRate = new BigDecimal("120000.00");
+    private final LocalDateTime start = BenchmarkFixtures.NOW;
+    private final LocalDateTime sameDayEnd = start.plusHours(8);
+    private final LocalDateTime multiDayEnd = start.plusDays(6).plusHours(7);
+    private final LocalDateTime actualEnd = multiDayEnd.plusHours(3).plusMinutes(20);
+
+    @Benchmark
+    public BigDecimal basePriceSameDay() {
+        return BookingPricing.basePrice(dailyRate, hourlyRate, start, sameDayEnd);
+    }
+
+    @Benchmark
+    public BigDecimal basePriceMultiDay() {
+        return BookingPricing.basePrice(dailyRate, hourlyRate, start, multiDayEnd);
+    }
+
+    @Benchmark
+    public BigDecimal lateFee() {
+        return BookingPricing.lateFee(hourlyRate, BookingPricing.lateHours(multiDayEnd, actualEnd));
+    }
+}
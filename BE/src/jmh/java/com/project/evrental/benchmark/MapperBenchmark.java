@@ -0,0 +1,84 @@
+package com.project.evrental.benchmark;
+
+import com.project.evrental.domain.dto.response.AvailableVehicleSummary;
+import com.project.evrental.domain.dto.response.BookingDetailResponse;
+import com.project.evrental.domain.dto.response.BookingResponse;
+import com.project.evrental.domain.dto.response.StationDetailResponse;
+import com.project.evrental.domain.dto.response.StationResponse;
+import com.project.evrental.domain.dto.response.VehicleResponse;
+import com.project.evrental.domain.entity.Booking;
+import com.project.evrental.domain.entity.Station;
+import com.project.evrental.domain.entity.Vehicle;
+import com.project.evrental.mapper.BookingMapper;
+import com.project.evrental.mapper.StationMapper;
+import com.project.evrental.mapper.VehicleMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping for one booking, vehicle and station, on detached entities so only the
+ * mapping itself is measured (no lazy loading). Run with {@code -prof gc} to see allocation per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    private StationMapper stationMapper;
+    private BookingMapper bookingMapper;
+    private Booking booking;
+    private Vehicle vehicle;
+    private Station station;
+
+    @Setup
+    public void setUp() {
+        stationMapper = new StationMapper();
+        bookingMapper = new BookingMapper(stationMapper);
+        booking = BenchmarkFixtures.booking();
+        vehicle = booking.getVehicle();
+        station = booking.getStation();
+    }
+
+    @Benchmark
+    public BookingResponse bookingToResponse() {
+        return bookingMapper.toResponse(booking);
+    }
+
+    @Benchmark
+    public BookingDetailResponse bookingToDetailResponse() {
+        return bookingMapper.toDetailResponse(booking);
+    }
+
+    @Benchmark
+    public VehicleResponse vehicleToResponse() {
+        return VehicleMapper.toResponse(vehicle);
+    }
+
+    @Benchmark
+    public AvailableVehicleSummary vehicleToSummary() {
+        return VehicleMapper.mapToSummary(vehicle);
+    }
+
+    @Benchmark
+    public StationResponse stationToResponse() {
+        return stationMapper.toResponse(station);
+    }
+
+    @Benchmark
+    public StationDetailResponse stationToDetailResponse() {
+        return stationMapper.toDetailResponse(station, 24, 17);
+    }
+}
@@ -0,0 +1,98 @@
+package com.project.evrental.benchmark;
+
+import com.project.evrental.service.MoMoSigner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signing and verifying a MoMo IPN payload: the per-call {@code Mac.getInstance} + {@code toHexString}
+ * implementation MoMoService used before, against {@link MoMoSigner}. Run with {@code -prof gc} to
+ * compare allocation rates as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class MoMoSignerBenchmark {
+
+    private static final String SECRET_KEY = "benchmark-secret-key";
+
+    private MoMoSigner signer;
+    private String rawSignature;
+    private String signature;
+
+    @Setup
+    public void setUp() {
+        signer = new MoMoSigner(SECRET_KEY);
+        rawSignature = "accessKey=F8BBA842ECF85" +
+                "&amount=250000" +
+                "&extraData=true" +
+                "&message=Successful." +
+                "&orderId=" + UUID.randomUUID() +
+                "&orderInfo=Thanh toan tien coc booking BK1730000000000ABC123" +
+                "&orderType=momo_wallet" +
+                "&partnerCode=MOMO" +
+                "&payType=qr" +
+                "&requestId=" + UUID.randomUUID() +
+                "&responseTime=1730000000000" +
+                "&resultCode=0" +
+                "&transId=4088878653";
+        signature = signer.sign(rawSignature);
+    }
+
+    @Benchmark
+    public String signLegacy() throws Exception {
+        return legacySign(rawSignature, SECRET_KEY);
+    }
+
+    @Benchmark
+    public String signCached() {
+        return signer.sign(rawSignature);
+    }
+
+    @Benchmark
+    public boolean verifyLegacy() throws Exception {
+        return legacySign(rawSignature, SECRET_KEY).equals(signature);
+    }
+
+    @Benchmark
+    public boolean verifyCached() {
+        return signer.matches(rawSignature, signature);
+    }
+
+    // Previous MoMoService.generateHmacSHA256, kept here as the baseline
+    private static String legacySign(String data, String secretKey) throws Exception {
+        Mac hmacSHA256 = Mac.getInstance("HmacSHA256");
+        SecretKeySpec secretKeySpec = new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        hmacSHA256.init(secretKeySpec);
+        byte[] hash = hmacSHA256.doFinal(data.getBytes(StandardCharsets.UTF_8));
+
+        StringBuilder hexString = new StringBuilder();
+        for (byte b : hash) {
+            String hex = Integer.toHexString(0xff & b);
+            if (hex.length() == 1) {
+                hexString.append('0');
+            }
+            hexString.append(hex);
+        }
+        return hexString.toString();
+    }
+}
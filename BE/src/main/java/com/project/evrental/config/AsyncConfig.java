@@ -0,0 +1,53 @@
+package com.project.evrental.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    // The pool size stays the cap on concurrent AWS Location calls (their rate limit); with virtual
+    // threads enabled the workers are virtual, so a slow matrix call no longer holds a platform thread
+    @Bean(name = "routeMatrixExecutor")
+    public ThreadPoolTaskExecutor routeMatrixExecutor(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Value("${location.route-matrix.pool-size:4}") int poolSize,
+            @Value("${location.route-matrix.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setVirtualThreads(virtualThreads);
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("route-matrix-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs blocking work for outbound integrations: the MoMo HTTP client's exchanges and response
+     * handling, and S3 transfers fanned out by {@code S3Service}. With
+     * {@code spring.threads.virtual.enabled} every task gets its own virtual thread, so a slow
+     * gateway parks cheap threads instead of draining a pool; otherwise it is a fixed pool of
+     * platform threads.
+     */
+    @Bean(name = "integrationExecutor")
+    public AsyncTaskExecutor integrationExecutor(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Value("${integration.executor.pool-size:16}") int poolSize) {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("integration-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setThreadNamePrefix("integration-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -6,6 +6,8 @@ import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderClient;
 import software.amazon.awssdk.services.location.LocationClient;
@@ -14,6 +16,8 @@ import software.amazon.awssdk.services.sts.StsClient;
 import software.amazon.awssdk.services.sts.auth.StsAssumeRoleCredentialsProvider;
 import software.amazon.awssdk.services.sts.model.AssumeRoleRequest;
 
+import java.time.Duration;
+
 @Configuration
 public class AwsClientConfig {
 
@@ -35,6 +39,22 @@ public class AwsClientConfig {
     @Value("${aws.location.cross-account-role-arn}")
     private String crossAccountRoleArn;
 
+    @Value("${integration.aws.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${integration.aws.connection-acquisition-timeout:PT10S}")
+    private Duration connectionAcquisitionTimeout;
+
+    // One connection pool for every SDK client. With virtual threads the request threads no longer
+    // bound concurrent AWS calls, so this pool does; waiting callers park instead of holding a thread
+    @Bean
+    public SdkHttpClient awsHttpClient() {
+        return ApacheHttpClient.builder()
+                .maxConnections(maxConnections)
+                .connectionAcquisitionTimeout(connectionAcquisitionTimeout)
+                .build();
+    }
+
 //    @Bean
 //    public CognitoIdentityProviderClient cognitoClient() {
 //        return CognitoIdentityProviderClient.builder()
@@ -48,18 +68,20 @@ public class AwsClientConfig {
 //    }
 
         @Bean
-    public CognitoIdentityProviderClient cognitoIdentityProviderClient() {
+    public CognitoIdentityProviderClient cognitoIdentityProviderClient(SdkHttpClient awsHttpClient) {
         return CognitoIdentityProviderClient.builder()
                 .region(Region.of(region))
+                .httpClient(awsHttpClient)
                 // SDK tự động lấy credentials từ IAM Role của server (qua STS)
                 .credentialsProvider(DefaultCredentialsProvider.create())
                 .build();
     }
 
     @Bean
-    public S3Client s3Client() {
+    public S3Client s3Client(SdkHttpClient awsHttpClient) {
         return S3Client.builder()
                 .region(Region.of(region))
+                .httpClient(awsHttpClient)
                 .credentialsProvider(
                         StaticCredentialsProvider.create(
                                 AwsBasicCredentials.create(s3_accessKey, s3_secretKey)
@@ -70,10 +92,11 @@ public class AwsClientConfig {
 
 
     @Bean
-    public LocationClient locationClient() {
+    public LocationClient locationClient(SdkHttpClient awsHttpClient) {
         // 1. Tạo STS Client (Dùng quyền của ECS Account A để gọi STS)
         StsClient stsClient = StsClient.builder()
                 .region(Region.AP_SOUTHEAST_1)
+                .httpClient(awsHttpClient)
                 .credentialsProvider(DefaultCredentialsProvider.create())
                 .build();
 
@@ -89,6 +112,7 @@ public class AwsClientConfig {
         // 3. Tạo Location Client dùng Provider đã "Switch Role" này
         return LocationClient.builder()
                 .region(Region.AP_SOUTHEAST_1) // region của Account B
+                .httpClient(awsHttpClient)
                 .credentialsProvider(crossAccountProvider)
                 .build();
     }
@@ -0,0 +1,16 @@
+package com.project.evrental.config;
+
+/**
+ * Names of the Redis caches configured in {@link RedisConfig}.
+ */
+public final class CacheNames {
+
+    public static final String STATION_DETAIL = "stationDetail";
+    public static final String FEATURED_STATIONS = "featuredStations";
+    public static final String ACTIVE_STATIONS = "activeStations";
+    public static final String VEHICLE_DETAIL = "vehicleDetail";
+    public static final String PRINCIPALS = "principals";
+
+    private CacheNames() {
+    }
+}
@@ -0,0 +1,32 @@
+package com.project.evrental.config;
+
+import com.project.evrental.service.auth.VerifiedTokenCache;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * Returns the already validated {@link Jwt} for a token seen before, and otherwise delegates to
+ * the signature-checking decoder. Failed decodes are never cached.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final VerifiedTokenCache<Jwt> cache;
+
+    public CachingJwtDecoder(JwtDecoder delegate, VerifiedTokenCache<Jwt> cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        Jwt cached = cache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        Jwt jwt = delegate.decode(token);
+        cache.put(token, jwt, jwt.getExpiresAt());
+        return jwt;
+    }
+}
@@ -1,24 +1,33 @@
 package com.project.evrental.config;
 
-import org.springframework.context.annotation.Configuration;
+import com.project.evrental.service.auth.PrincipalResolver;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
-import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
 
 import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
-@Configuration
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class JwtAuthConverter implements Converter<Jwt, AbstractAuthenticationToken> {
 
+    PrincipalResolver principalResolver;
+
+    // Resolves the local user once per request, from the principals cache on the hot path
     @Override
     public AbstractAuthenticationToken convert(Jwt jwt) {
         Collection<GrantedAuthority> authorities = extractAuthorities(jwt);
-        return new JwtAuthenticationToken(jwt, authorities, getPrincipalName(jwt));
+        return new ResolvedUserAuthentication(jwt, authorities, getPrincipalName(jwt),
+                principalResolver.resolve(jwt.getSubject()).orElse(null));
     }
 
     private String getPrincipalName(Jwt jwt) {
@@ -0,0 +1,44 @@
+package com.project.evrental.config;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import com.project.evrental.service.auth.CognitoJwkSource;
+import com.project.evrental.service.auth.VerifiedTokenCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+@Configuration
+public class JwtDecoderConfig {
+
+    /**
+     * Resource-server decoder over the shared, preloaded {@link CognitoJwkSource}. Declaring it
+     * replaces the issuer-uri based decoder, which would run OIDC discovery and keep its own key
+     * cache; the issuer is still validated.
+     */
+    @Bean
+    public JwtDecoder jwtDecoder(
+            CognitoJwkSource cognitoJwkSource,
+            MeterRegistry meterRegistry,
+            @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuer,
+            @Value("${security.token-cache.max-entries:10000}") int tokenCacheMaxEntries
+    ) {
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, cognitoJwkSource));
+        // Claims are checked by the Spring validators below, as in the default decoder
+        processor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+
+        NimbusJwtDecoder decoder = new NimbusJwtDecoder(processor);
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuer));
+        // Clients reuse an access token for up to an hour; verify its signature once
+        return new CachingJwtDecoder(decoder,
+                new VerifiedTokenCache<>("resource-server", tokenCacheMaxEntries, meterRegistry));
+    }
+}
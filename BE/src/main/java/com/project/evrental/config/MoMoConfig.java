@@ -1,9 +1,16 @@
 package com.project.evrental.config;
 
+import com.project.evrental.service.MoMoSigner;
 import lombok.Getter;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
 @Getter
 @Configuration
 public class MoMoConfig {
@@ -20,9 +27,33 @@ public class MoMoConfig {
     @Value("${momo.endpoint}")
     private String endpoint;
 
+    @Value("${momo.query-endpoint:https://test-payment.momo.vn/v2/gateway/api/query}")
+    private String queryEndpoint;
+
     @Value("${momo.redirect-url}")
     private String redirectUrl;
 
     @Value("${momo.notify-url}")
     private String notifyUrl;
+
+    @Value("${momo.connect-timeout:PT5S}")
+    private Duration connectTimeout;
+
+    @Value("${momo.request-timeout:PT15S}")
+    private Duration requestTimeout;
+
+    @Bean
+    public MoMoSigner moMoSigner() {
+        return new MoMoSigner(secretKey);
+    }
+
+    // One long-lived client so connections (and TLS sessions) to the gateway are pooled and reused
+    @Bean
+    public HttpClient moMoHttpClient(@Qualifier("integrationExecutor") Executor integrationExecutor) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .executor(integrationExecutor)
+                .build();
+    }
 }
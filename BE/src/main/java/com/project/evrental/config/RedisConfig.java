@@ -5,23 +5,36 @@ import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.project.evrental.config.cache.CacheInvalidationBus;
+import com.project.evrental.config.cache.TwoTierCache;
+import com.project.evrental.config.cache.TwoTierCacheManager;
+import com.project.evrental.config.cache.TwoTierCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+import org.springframework.cache.interceptor.LoggingCacheErrorHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
+import java.util.Map;
 
 @Configuration
 @EnableCaching
-public class RedisConfig {
+public class RedisConfig implements CachingConfigurer {
 
     private GenericJackson2JsonRedisSerializer jacksonSerializer() {
         ObjectMapper objectMapper = new ObjectMapper();
@@ -36,6 +49,12 @@ public class RedisConfig {
     }
 
 
+    // A Redis outage degrades cached reads to database reads instead of failing them
+    @Override
+    public CacheErrorHandler errorHandler() {
+        return new LoggingCacheErrorHandler();
+    }
+
     @Bean
     public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
@@ -52,20 +71,70 @@ public class RedisConfig {
         return template;
     }
 
+    /**
+     * Per-cache TTLs for the Redis tier, fronted by a bounded near cache per instance. Entries are
+     * evicted by {@code CatalogCacheInvalidator} after each committed change, and the eviction is
+     * broadcast so every instance drops its near copy.
+     */
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public CacheManager cacheManager(
+            RedisConnectionFactory connectionFactory,
+            CacheInvalidationBus cacheInvalidationBus,
+            @Value("${cache.ttl.station-detail:PT5M}") Duration stationDetailTtl,
+            @Value("${cache.ttl.station-lists:PT10M}") Duration stationListsTtl,
+            @Value("${cache.ttl.vehicle-detail:PT2M}") Duration vehicleDetailTtl,
+            @Value("${cache.ttl.principals:PT10M}") Duration principalsTtl,
+            @Value("${cache.near.max-entries:1000}") int nearMaxEntries,
+            @Value("${cache.near.ttl:PT30S}") Duration nearTtl
+    ) {
+        GenericJackson2JsonRedisSerializer valueSerializer = jacksonSerializer();
         RedisCacheConfiguration cacheConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(10))
                 .serializeKeysWith(
                         RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer())
                 )
                 .serializeValuesWith(
-                        RedisSerializationContext.SerializationPair.fromSerializer(jacksonSerializer())
+                        RedisSerializationContext.SerializationPair.fromSerializer(valueSerializer)
                 )
                 .disableCachingNullValues();
 
-        return RedisCacheManager.builder(connectionFactory)
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(cacheConfig)
+                .withInitialCacheConfigurations(Map.of(
+                        CacheNames.STATION_DETAIL, cacheConfig.entryTtl(stationDetailTtl),
+                        CacheNames.FEATURED_STATIONS, cacheConfig.entryTtl(stationListsTtl),
+                        CacheNames.ACTIVE_STATIONS, cacheConfig.entryTtl(stationListsTtl),
+                        CacheNames.VEHICLE_DETAIL, cacheConfig.entryTtl(vehicleDetailTtl),
+                        CacheNames.PRINCIPALS, cacheConfig.entryTtl(principalsTtl)
+                ))
                 .build();
+        // Not a bean itself, so initialize the configured caches here
+        redisCacheManager.afterPropertiesSet();
+
+        return new TwoTierCacheManager(redisCacheManager, cacheInvalidationBus, nearMaxEntries, nearTtl);
+    }
+
+    @Bean
+    public CacheInvalidationBus cacheInvalidationBus(
+            RedisConnectionFactory connectionFactory,
+            @Value("${cache.near.invalidation-channel:cache:invalidate}") String channel
+    ) {
+        return new CacheInvalidationBus(new StringRedisTemplate(connectionFactory), channel);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            CacheInvalidationBus cacheInvalidationBus
+    ) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheInvalidationBus, new ChannelTopic(cacheInvalidationBus.getChannel()));
+        return container;
+    }
+
+    @Bean
+    public CacheMeterBinderProvider<TwoTierCache> twoTierCacheMeterBinderProvider() {
+        return TwoTierCacheMetrics::new;
     }
 }
@@ -0,0 +1,28 @@
+package com.project.evrental.config;
+
+import com.project.evrental.domain.dto.ResolvedUser;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.util.Collection;
+
+/**
+ * A {@link JwtAuthenticationToken} that also carries the application user behind the token,
+ * resolved once by {@link JwtAuthConverter}. The user is {@code null} when the Cognito account
+ * has no local user yet.
+ */
+public class ResolvedUserAuthentication extends JwtAuthenticationToken {
+
+    private final transient ResolvedUser resolvedUser;
+
+    public ResolvedUserAuthentication(Jwt jwt, Collection<? extends GrantedAuthority> authorities,
+                                      String name, ResolvedUser resolvedUser) {
+        super(jwt, authorities, name);
+        this.resolvedUser = resolvedUser;
+    }
+
+    public ResolvedUser getResolvedUser() {
+        return resolvedUser;
+    }
+}
@@ -1,5 +1,6 @@
 package com.project.evrental.config;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -15,8 +16,11 @@ import java.util.Arrays;
 
 @Configuration
 @EnableMethodSecurity
+@RequiredArgsConstructor
 public class SecurityConfig {
 
+    private final JwtAuthConverter jwtAuthConverter;
+
     @Value("${app.cors.allowed-origins}")
     private String allowedOrigins; // Inject biến vào đây
 
@@ -43,7 +47,7 @@ public class SecurityConfig {
                 .oauth2ResourceServer(
                         oauth2 -> oauth2.jwt(
                                 jwtConfigurer -> jwtConfigurer
-                                        .jwtAuthenticationConverter(new JwtAuthConverter())
+                                        .jwtAuthenticationConverter(jwtAuthConverter)
                         )
                 );
         httpSecurity
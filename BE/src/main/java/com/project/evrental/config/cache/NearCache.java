@@ -0,0 +1,43 @@
+package com.project.evrental.config.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * Bounded in-process cache with a per-entry TTL. The TTL bounds how long an entry can stay stale
+ * if an invalidation message from another instance is missed. Hits return the stored instance
+ * itself, so only immutable values may be cached.
+ */
+final class NearCache {
+
+    private final Cache<String, Object> entries;
+
+    NearCache(int maxEntries, Duration ttl) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    Object get(String key) {
+        return entries.getIfPresent(key);
+    }
+
+    void put(String key, Object value) {
+        entries.put(key, value);
+    }
+
+    void evict(String key) {
+        entries.invalidate(key);
+    }
+
+    void clear() {
+        entries.invalidateAll();
+    }
+
+    int size() {
+        return (int) entries.estimatedSize();
+    }
+}
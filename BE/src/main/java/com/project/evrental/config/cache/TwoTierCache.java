@@ -0,0 +1,185 @@
+package com.project.evrental.config.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link NearCache} in front of a shared (Redis) cache. Reads are served locally when possible
+ * and otherwise fall through to the shared cache. Every write or eviction goes to the shared
+ * cache and is broadcast through {@link CacheInvalidationBus}, so the other instances drop their
+ * local copies and re-read the shared value. A near hit returns the cached instance itself without
+ * deserializing it, so every cached type must be immutable.
+ */
+public class TwoTierCache implements Cache {
+
+    private final Cache shared;
+    private final NearCache near;
+    private final CacheInvalidationBus invalidationBus;
+
+    private final LongAdder nearHits = new LongAdder();
+    private final LongAdder sharedHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    TwoTierCache(Cache shared, NearCache near, CacheInvalidationBus invalidationBus) {
+        this.shared = shared;
+        this.near = near;
+        this.invalidationBus = invalidationBus;
+    }
+
+    @Override
+    public String getName() {
+        return shared.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return shared.getNativeCache();
+    }
+
+    public Cache getShared() {
+        return shared;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String nearKey = nearKey(key);
+        Object local = near.get(nearKey);
+        if (local != null) {
+            nearHits.increment();
+            return new SimpleValueWrapper(local);
+        }
+
+        ValueWrapper wrapper = shared.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            sharedHits.increment();
+            near.put(nearKey, wrapper.get());
+        } else {
+            misses.increment();
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String nearKey = nearKey(key);
+        Object local = near.get(nearKey);
+        if (local != null) {
+            nearHits.increment();
+            return (T) local;
+        }
+
+        boolean[] loaded = {false};
+        T value = shared.get(key, () -> {
+            loaded[0] = true;
+            return valueLoader.call();
+        });
+        if (loaded[0]) {
+            misses.increment();
+            puts.increment();
+        } else {
+            sharedHits.increment();
+        }
+        if (value != null) {
+            near.put(nearKey, value);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        shared.put(key, value);
+        puts.increment();
+        String nearKey = nearKey(key);
+        near.put(nearKey, value);
+        invalidationBus.publishEvict(getName(), nearKey);
+    }
+
+    @Override
+    public void evict(Object key) {
+        String nearKey = nearKey(key);
+        near.evict(nearKey);
+        shared.evict(key);
+        evictions.increment();
+        invalidationBus.publishEvict(getName(), nearKey);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        String nearKey = nearKey(key);
+        near.evict(nearKey);
+        boolean present = shared.evictIfPresent(key);
+        evictions.increment();
+        invalidationBus.publishEvict(getName(), nearKey);
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        near.clear();
+        shared.clear();
+        invalidationBus.publishClear(getName());
+    }
+
+    @Override
+    public boolean invalidate() {
+        near.clear();
+        boolean invalidated = shared.invalidate();
+        invalidationBus.publishClear(getName());
+        return invalidated;
+    }
+
+    // Called for invalidations broadcast by other instances
+    void evictLocal(String nearKey) {
+        near.evict(nearKey);
+    }
+
+    void clearLocal() {
+        near.clear();
+    }
+
+    long nearHitCount() {
+        return nearHits.sum();
+    }
+
+    long sharedHitCount() {
+        return sharedHits.sum();
+    }
+
+    long missCount() {
+        return misses.sum();
+    }
+
+    long putCount() {
+        return puts.sum();
+    }
+
+    long evictionCount() {
+        return evictions.sum();
+    }
+
+    int nearSize() {
+        return near.size();
+    }
+
+    // Redis cache keys are the key's string form as well, so both tiers agree on identity
+    private static String nearKey(Object key) {
+        return String.valueOf(key);
+    }
+}
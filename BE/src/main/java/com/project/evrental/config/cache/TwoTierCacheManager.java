@@ -0,0 +1,52 @@
+package com.project.evrental.config.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Wraps every cache of the shared {@link CacheManager} in a {@link TwoTierCache} with its own
+ * bounded near cache.
+ */
+public class TwoTierCacheManager implements CacheManager {
+
+    private final CacheManager sharedCacheManager;
+    private final CacheInvalidationBus invalidationBus;
+    private final int nearMaxEntries;
+    private final Duration nearTtl;
+    private final ConcurrentMap<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(CacheManager sharedCacheManager, CacheInvalidationBus invalidationBus,
+                               int nearMaxEntries, Duration nearTtl) {
+        this.sharedCacheManager = sharedCacheManager;
+        this.invalidationBus = invalidationBus;
+        this.nearMaxEntries = nearMaxEntries;
+        this.nearTtl = nearTtl;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TwoTierCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache shared = sharedCacheManager.getCache(name);
+        if (shared == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, key -> {
+            TwoTierCache created = new TwoTierCache(shared, new NearCache(nearMaxEntries, nearTtl), invalidationBus);
+            invalidationBus.register(created);
+            return created;
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return sharedCacheManager.getCacheNames();
+    }
+}
@@ -0,0 +1,59 @@
+package com.project.evrental.config.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+/**
+ * Reports {@code cache.gets} hits across both tiers, plus {@code cache.near.gets} to show how
+ * many reads never left the instance.
+ */
+public class TwoTierCacheMetrics extends CacheMeterBinder<TwoTierCache> {
+
+    private final TwoTierCache cache;
+
+    public TwoTierCacheMetrics(TwoTierCache cache, Iterable<Tag> tags) {
+        super(cache, cache.getName(), tags);
+        this.cache = cache;
+    }
+
+    @Override
+    protected Long size() {
+        return (long) cache.nearSize();
+    }
+
+    @Override
+    protected long hitCount() {
+        return cache.nearHitCount() + cache.sharedHitCount();
+    }
+
+    @Override
+    protected Long missCount() {
+        return cache.missCount();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        return cache.evictionCount();
+    }
+
+    @Override
+    protected long putCount() {
+        return cache.putCount();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("cache.near.gets", cache, TwoTierCache::nearHitCount)
+                .tags(getTagsWithCacheName())
+                .tag("result", "hit")
+                .description("Reads served from the in-process near cache")
+                .register(registry);
+        FunctionCounter.builder("cache.near.gets", cache, c -> c.sharedHitCount() + c.missCount())
+                .tags(getTagsWithCacheName())
+                .tag("result", "miss")
+                .description("Reads that went to Redis")
+                .register(registry);
+    }
+}
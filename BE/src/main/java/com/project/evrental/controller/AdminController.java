@@ -1,16 +1,21 @@
 package com.project.evrental.controller;
 
 import com.project.evrental.domain.ApiResponse;
+import com.project.evrental.domain.common.ExportFormat;
 import com.project.evrental.domain.dto.response.BookingResponse;
 import com.project.evrental.domain.dto.response.UserResponse;
 import com.project.evrental.domain.dto.response.VehicleResponse;
 import com.project.evrental.domain.dto.response.admin.*;
 import com.project.evrental.service.admin.AdminService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.UUID;
 
@@ -193,6 +198,19 @@ public class AdminController {
                 .build());
     }
 
+    @GetMapping("/bookings/export")
+    public void exportBookings(
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            HttpServletResponse response
+    ) throws IOException {
+        boolean csv = format == ExportFormat.CSV;
+        response.setContentType(csv ? "text/csv" : "application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"bookings." + (csv ? "csv" : "ndjson") + "\"");
+        adminService.exportBookings(format, response.getOutputStream());
+    }
+
     // ==================== Revenue & Analytics ====================
     
     @GetMapping("/revenue/yearly-comparison")
@@ -7,10 +7,13 @@ import com.project.evrental.domain.dto.request.UpdateBookingRequest;
 import com.project.evrental.domain.dto.response.BookingDetailResponse;
 import com.project.evrental.domain.dto.response.BookingResponse;
 import com.project.evrental.domain.dto.response.BookingWithPaymentResponse;
+import com.project.evrental.domain.dto.response.CursorPageResponse;
 import com.project.evrental.domain.dto.response.MoMoPaymentResponse;
 import com.project.evrental.service.BookingService;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -95,6 +98,20 @@ public class BookingController {
                         .build());
     }
 
+    @GetMapping("/cursor")
+    @PreAuthorize("hasRole('STAFF') or hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<CursorPageResponse<BookingResponse>>> getAllBookingsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(CursorPageResponse.MAX_SIZE) int size
+    ) {
+        log.info("Request to get bookings by cursor - size: {}", size);
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(ApiResponse.<CursorPageResponse<BookingResponse>>builder()
+                        .statusCode(200)
+                        .data(bookingService.getAllBookingsByCursor(cursor, size))
+                        .build());
+    }
+
     @GetMapping("/my-bookings")
     @PreAuthorize("hasRole('RENTER')")
     public ResponseEntity<ApiResponse<List<BookingResponse>>> getMyBookings() {
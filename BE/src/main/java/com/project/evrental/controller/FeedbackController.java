@@ -9,6 +9,8 @@ import com.project.evrental.service.FeedbackService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -112,6 +114,21 @@ public class FeedbackController {
                         .build());
     }
 
+    @GetMapping("/my-feedbacks/cursor")
+    @PreAuthorize("hasRole('RENTER')")
+    @Operation(summary = "Get my feedbacks by cursor", description = "Renter feedback history with keyset pagination")
+    public ResponseEntity<ApiResponse<CursorPageResponse<FeedbackResponse>>> getMyFeedbacksByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(CursorPageResponse.MAX_SIZE) int size
+    ) {
+        log.info("Request to get feedbacks for current renter by cursor - size: {}", size);
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(ApiResponse.<CursorPageResponse<FeedbackResponse>>builder()
+                        .statusCode(200)
+                        .data(feedbackService.getMyFeedbacksByCursor(cursor, size))
+                        .build());
+    }
+
     // ==================== ADMIN/STAFF ENDPOINTS ====================
 
     @GetMapping("/admin/all")
@@ -140,6 +157,31 @@ public class FeedbackController {
                         .build());
     }
 
+    @GetMapping("/admin/all/cursor")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
+    @Operation(summary = "Get all feedbacks with filters by cursor", description = "Admin/Staff filter feedbacks with keyset pagination")
+    public ResponseEntity<ApiResponse<CursorPageResponse<FeedbackResponse>>> getAllFeedbacksWithFiltersByCursor(
+            @RequestParam(required = false) UUID stationId,
+            @RequestParam(required = false) UUID vehicleId,
+            @RequestParam(required = false) UUID renterId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate,
+            @RequestParam(required = false) Double minRating,
+            @RequestParam(required = false) Double maxRating,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(CursorPageResponse.MAX_SIZE) int size
+    ) {
+        log.info("Request to get all feedbacks with filters by cursor");
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(ApiResponse.<CursorPageResponse<FeedbackResponse>>builder()
+                        .statusCode(200)
+                        .data(feedbackService.getAllFeedbacksWithFiltersByCursor(
+                                stationId, vehicleId, renterId,
+                                fromDate, toDate, minRating, maxRating, cursor, size
+                        ))
+                        .build());
+    }
+
     @PostMapping("/{feedbackId}/respond")
     @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
     @Operation(summary = "Respond to feedback", description = "Admin/Staff adds a response to feedback")
@@ -234,6 +276,21 @@ public class FeedbackController {
                         .build());
     }
 
+    @GetMapping("/vehicle/{vehicleId}/cursor")
+    @Operation(summary = "Get vehicle feedbacks by cursor", description = "Public list of feedbacks for a vehicle with keyset pagination")
+    public ResponseEntity<ApiResponse<CursorPageResponse<FeedbackResponse>>> getPublicVehicleFeedbacksByCursor(
+            @PathVariable UUID vehicleId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(CursorPageResponse.MAX_SIZE) int size
+    ) {
+        log.info("Request to get public feedbacks for vehicle {} by cursor", vehicleId);
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(ApiResponse.<CursorPageResponse<FeedbackResponse>>builder()
+                        .statusCode(200)
+                        .data(feedbackService.getPublicVehicleFeedbacksByCursor(vehicleId, cursor, size))
+                        .build());
+    }
+
     @GetMapping("/station/{stationId}/summary")
     @Operation(summary = "Get station feedback summary", description = "Public view of station ratings and recent feedbacks")
     public ResponseEntity<ApiResponse<StationFeedbackSummaryResponse>> getStationFeedbackSummary(
@@ -264,6 +321,21 @@ public class FeedbackController {
                         .build());
     }
 
+    @GetMapping("/station/{stationId}/cursor")
+    @Operation(summary = "Get station feedbacks by cursor", description = "Public list of feedbacks for a station with keyset pagination")
+    public ResponseEntity<ApiResponse<CursorPageResponse<FeedbackResponse>>> getPublicStationFeedbacksByCursor(
+            @PathVariable UUID stationId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(CursorPageResponse.MAX_SIZE) int size
+    ) {
+        log.info("Request to get public feedbacks for station {} by cursor", stationId);
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(ApiResponse.<CursorPageResponse<FeedbackResponse>>builder()
+                        .statusCode(200)
+                        .data(feedbackService.getPublicStationFeedbacksByCursor(stationId, cursor, size))
+                        .build());
+    }
+
     // ==================== STATISTICS ENDPOINTS ====================
 
     @GetMapping("/statistics")
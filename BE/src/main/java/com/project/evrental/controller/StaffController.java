@@ -1,8 +1,8 @@
 package com.project.evrental.controller;
 
 import com.project.evrental.domain.ApiResponse;
+import com.project.evrental.domain.dto.response.BookingResponse;
 import com.project.evrental.domain.dto.response.UserResponse;
-import com.project.evrental.domain.entity.Booking;
 import com.project.evrental.domain.entity.User;
 import com.project.evrental.service.UserService;
 import com.project.evrental.service.staff.StaffService;
@@ -35,12 +35,12 @@ public class StaffController {
      */
     @PostMapping("/bookings/{bookingId}/confirm")
     @PreAuthorize("hasAnyRole('STAFF', 'ADMIN')")
-    public ResponseEntity<ApiResponse<Booking>> confirmBooking(
+    public ResponseEntity<ApiResponse<BookingResponse>> confirmBooking(
             @PathVariable UUID bookingId,
             @RequestParam UUID staffId
     ) {
-        Booking booking = staffService.confirmBooking(bookingId, staffId);
-        return ResponseEntity.ok(ApiResponse.<Booking>builder()
+        BookingResponse booking = staffService.confirmBooking(bookingId, staffId);
+        return ResponseEntity.ok(ApiResponse.<BookingResponse>builder()
                 .statusCode(200)
                 .message("Booking confirmed successfully")
                 .data(booking)
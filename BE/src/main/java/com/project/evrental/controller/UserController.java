@@ -4,10 +4,13 @@ import com.project.evrental.domain.ApiResponse;
 import com.project.evrental.domain.common.UserRole;
 import com.project.evrental.domain.dto.request.UpdateUserRequest;
 import com.project.evrental.domain.dto.request.UpdateUserRoleRequest;
+import com.project.evrental.domain.dto.response.CursorPageResponse;
 import com.project.evrental.domain.dto.response.UserResponse;
 import com.project.evrental.service.UserService;
 import com.project.evrental.service.auth.CognitoService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -84,6 +87,20 @@ public class UserController {
                         .build());
     }
 
+    @GetMapping("/cursor")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
+    public ResponseEntity<ApiResponse<CursorPageResponse<UserResponse>>> getAllUsersByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(CursorPageResponse.MAX_SIZE) int size
+    ) {
+        log.info("Request to get users by cursor - Size: {}", size);
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(ApiResponse.<CursorPageResponse<UserResponse>>builder()
+                        .statusCode(200)
+                        .data(userService.getAllUsersByCursor(cursor, size))
+                        .build());
+    }
+
     @GetMapping("/{userId}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
     public ResponseEntity<ApiResponse<UserResponse>> getUserById(
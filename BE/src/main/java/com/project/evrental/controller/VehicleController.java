@@ -4,12 +4,15 @@ import com.project.evrental.domain.ApiResponse;
 import com.project.evrental.domain.common.VehicleStatus;
 import com.project.evrental.domain.dto.request.CreateVehicleRequest;
 import com.project.evrental.domain.dto.request.UpdateVehicleRequest;
+import com.project.evrental.domain.dto.response.CursorPageResponse;
 import com.project.evrental.domain.dto.response.VehicleDetailResponse;
 import com.project.evrental.domain.dto.response.VehicleResponse;
 import com.project.evrental.service.VehicleService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -97,6 +100,19 @@ public class VehicleController {
                         .build());
     }
 
+    @GetMapping("/cursor")
+    public ResponseEntity<ApiResponse<CursorPageResponse<VehicleResponse>>> getAllVehiclesByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(CursorPageResponse.MAX_SIZE) int size
+    ) {
+        log.info("Request to get vehicles by cursor - size: {}", size);
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(ApiResponse.<CursorPageResponse<VehicleResponse>>builder()
+                        .statusCode(200)
+                        .data(vehicleService.getAllVehiclesByCursor(cursor, size))
+                        .build());
+    }
+
     @GetMapping("/station/{stationId}")
     public ResponseEntity<ApiResponse<List<VehicleResponse>>> getVehiclesByStationId(
             @PathVariable UUID stationId
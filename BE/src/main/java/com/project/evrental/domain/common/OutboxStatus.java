@@ -0,0 +1,5 @@
+package com.project.evrental.domain.common;
+
+public enum OutboxStatus {
+    PENDING, SENT, DEAD
+}
@@ -0,0 +1,29 @@
+package com.project.evrental.domain.dto;
+
+import com.project.evrental.domain.common.UserRole;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.UUID;
+
+/**
+ * The few user fields needed to authorize a request, resolved once from the JWT {@code sub}.
+ * Immutable, since one cached instance serves every request of that user.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@Builder
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(access = AccessLevel.PRIVATE, force = true)
+public class ResolvedUser {
+    private final UUID id;
+    private final String email;
+    private final UserRole role;
+    private final UUID stationId;
+}
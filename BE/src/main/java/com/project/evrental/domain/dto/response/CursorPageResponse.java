@@ -0,0 +1,59 @@
+package com.project.evrental.domain.dto.response;
+
+import com.project.evrental.domain.common.PageCursor;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class CursorPageResponse<T> {
+
+    /** Largest page a cursor endpoint serves. */
+    public static final int MAX_SIZE = 100;
+
+    List<T> content;
+
+    Integer size;
+
+    Boolean hasNext;
+
+    String nextCursor;
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code size + 1}; the extra row only signals that
+     * another page exists and is not returned.
+     */
+    public static <E, T> CursorPageResponse<T> of(
+            List<E> rows,
+            int size,
+            Function<E, LocalDateTime> createdAt,
+            Function<E, UUID> id,
+            Function<E, T> mapper) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        boolean hasNext = rows.size() > size;
+        List<E> page = hasNext ? rows.subList(0, size) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            E last = page.get(page.size() - 1);
+            nextCursor = new PageCursor(createdAt.apply(last), id.apply(last)).encode();
+        }
+
+        return CursorPageResponse.<T>builder()
+                .content(page.stream().map(mapper).toList())
+                .size(page.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.project.evrental.domain.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class MoMoQueryResponse {
+
+    String partnerCode;
+
+    String orderId;
+
+    String requestId;
+
+    String extraData;
+
+    Long amount;
+
+    Long transId;
+
+    String payType;
+
+    String resultCode;
+
+    String message;
+
+    Long responseTime;
+}
@@ -35,6 +35,9 @@ public class NearbyStationResponse {
 
     Double distanceKm;
 
+    // true khi distanceKm là ước lượng đường thẳng * hệ số, không phải đường đi thực tế
+    Boolean distanceEstimated;
+
     LocalDateTime startTime;
 
     LocalDateTime endTime;
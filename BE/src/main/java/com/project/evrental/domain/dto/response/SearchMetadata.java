@@ -19,5 +19,7 @@ public class SearchMetadata {
     Integer returnedCount;
     
     LocalDateTime searchTime;
+
+    Integer estimatedDistanceCount;
     
 }
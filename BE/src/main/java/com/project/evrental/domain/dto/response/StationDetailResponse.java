@@ -6,14 +6,22 @@ import lombok.experimental.FieldDefaults;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
-@FieldDefaults(level = AccessLevel.PRIVATE)
+/**
+ * Immutable and shared by every reader of the station detail cache. {@code vehicles} is held as
+ * an unmodifiable list, which also survives a round trip through the Redis serializer.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@Builder(toBuilder = true)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(access = AccessLevel.PRIVATE, force = true)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class StationDetailResponse {
 
     UUID id;
@@ -47,4 +55,12 @@ public class StationDetailResponse {
     LocalDateTime createdAt;
 
     LocalDateTime updatedAt;
+
+    public static class StationDetailResponseBuilder {
+
+        public StationDetailResponseBuilder vehicles(List<VehicleResponse> vehicles) {
+            this.vehicles = vehicles != null ? Collections.unmodifiableList(new ArrayList<>(vehicles)) : null;
+            return this;
+        }
+    }
 }
@@ -8,11 +8,16 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
-@FieldDefaults(level = AccessLevel.PRIVATE)
+/**
+ * Immutable, so the cached station lists can share their elements across requests.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@Builder(toBuilder = true)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(access = AccessLevel.PRIVATE, force = true)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class StationResponse {
 
     UUID id;
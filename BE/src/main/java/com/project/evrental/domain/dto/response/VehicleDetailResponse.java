@@ -7,11 +7,17 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
-@FieldDefaults(level = AccessLevel.PRIVATE)
+/**
+ * Immutable: the near cache hands the same instance to every request. {@code photos} is copied on
+ * the way in and out, and the private no-args constructor is only used by the Redis serializer.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@Builder(toBuilder = true)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(access = AccessLevel.PRIVATE, force = true)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class VehicleDetailResponse {
 
     UUID id;
@@ -51,4 +57,16 @@ public class VehicleDetailResponse {
     LocalDateTime createdAt;
 
     LocalDateTime updatedAt;
+
+    public String[] getPhotos() {
+        return photos != null ? photos.clone() : null;
+    }
+
+    public static class VehicleDetailResponseBuilder {
+
+        public VehicleDetailResponseBuilder photos(String[] photos) {
+            this.photos = photos != null ? photos.clone() : null;
+            return this;
+        }
+    }
 }
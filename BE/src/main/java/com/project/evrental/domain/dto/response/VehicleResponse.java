@@ -10,11 +10,17 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
-@FieldDefaults(level = AccessLevel.PRIVATE)
+/**
+ * Immutable, because instances are shared through the station caches. The arrays are copied on the
+ * way in and out; the private no-args constructor is for the Redis cache serializer.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@Builder(toBuilder = true)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(access = AccessLevel.PRIVATE, force = true)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class VehicleResponse {
 
     UUID id;
@@ -52,4 +58,25 @@ public class VehicleResponse {
     LocalDateTime createdAt;
 
     LocalDateTime updatedAt;
+
+    public String[] getPhotos() {
+        return photos != null ? photos.clone() : null;
+    }
+
+    public String[] getPolices() {
+        return polices != null ? polices.clone() : null;
+    }
+
+    public static class VehicleResponseBuilder {
+
+        public VehicleResponseBuilder photos(String[] photos) {
+            this.photos = photos != null ? photos.clone() : null;
+            return this;
+        }
+
+        public VehicleResponseBuilder polices(String[] polices) {
+            this.polices = polices != null ? polices.clone() : null;
+            return this;
+        }
+    }
 }
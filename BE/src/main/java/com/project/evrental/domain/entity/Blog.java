@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -13,6 +14,8 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "blogs")
+// Only changed columns are written, so editing a post never overwrites view_count flushed by CounterService
+@DynamicUpdate
 @Data
 @Builder
 @NoArgsConstructor
@@ -8,6 +8,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -17,12 +18,24 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "bookings")
+@NamedEntityGraph(name = Booking.SUMMARY_GRAPH, attributeNodes = {
+        @NamedAttributeNode("renter"),
+        @NamedAttributeNode("vehicle"),
+        @NamedAttributeNode("station"),
+        @NamedAttributeNode("checkedOutBy"),
+        @NamedAttributeNode("checkedInBy"),
+        // Inverse one-to-one: Hibernate cannot proxy it, so without the join it is one select per row
+        @NamedAttributeNode("feedback")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Booking {
 
+    // Everything BookingMapper.toResponse reads, loaded in the same select
+    public static final String SUMMARY_GRAPH = "Booking.summary";
+
     @Id
     @Column(columnDefinition = "uuid")
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -99,4 +112,9 @@ public class Booking {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
 }
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.project.evrental.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Per-day, per-station rollup of booking, revenue and fleet metrics.
+ * Maintained incrementally by {@code MetricsRollupService} and reconciled nightly.
+ */
+@Entity
+@Table(name = "daily_station_metrics",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_daily_station_metrics_date_station",
+                columnNames = {"metric_date", "station_id"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyStationMetric {
+
+    @Id
+    @Column(columnDefinition = "uuid")
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "metric_date", nullable = false)
+    private LocalDate metricDate;
+
+    @Column(name = "station_id", columnDefinition = "uuid", nullable = false)
+    private UUID stationId;
+
+    @Column(name = "bookings_created", nullable = false)
+    private Long bookingsCreated;
+
+    @Column(name = "bookings_completed", nullable = false)
+    private Long bookingsCompleted;
+
+    @Column(name = "bookings_cancelled", nullable = false)
+    private Long bookingsCancelled;
+
+    @Column(name = "revenue", nullable = false)
+    private BigDecimal revenue;
+
+    @Column(name = "rental_revenue", nullable = false)
+    private BigDecimal rentalRevenue;
+
+    @Column(name = "extra_fees", nullable = false)
+    private BigDecimal extraFees;
+
+    @Column(name = "late_fees", nullable = false)
+    private BigDecimal lateFees;
+
+    @Column(name = "collected_amount", nullable = false)
+    private BigDecimal collectedAmount;
+
+    @Column(name = "active_minutes", nullable = false)
+    private Long activeMinutes;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -14,7 +14,11 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "payments")
+@Table(name = "payments",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_payments_transaction_id", columnNames = "transaction_id"),
+                @UniqueConstraint(name = "uk_payments_gateway_trans_id", columnNames = "gateway_trans_id")
+        })
 @Data
 @Builder
 @NoArgsConstructor
@@ -45,6 +49,10 @@ public class Payment {
     @Column(name = "transaction_id")
     private String transactionId;
 
+    // MoMo transId of the settling IPN; unique so the same gateway transaction cannot be applied twice
+    @Column(name = "gateway_trans_id")
+    private Long gatewayTransId;
+
     @Column(name = "paid_at")
     private LocalDateTime paidAt;
 
@@ -0,0 +1,75 @@
+package com.project.evrental.domain.entity;
+
+import com.project.evrental.domain.common.OutboxStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A MoMo payment order waiting to be created at the gateway.
+ * Written in the same transaction as its {@link Payment}, then drained by {@code PaymentOutboxService}.
+ */
+@Entity
+@Table(name = "payment_outbox")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentOutbox {
+
+    @Id
+    @Column(columnDefinition = "uuid")
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "payment_id", columnDefinition = "uuid", nullable = false, unique = true)
+    private UUID paymentId;
+
+    @Column(name = "booking_id", columnDefinition = "uuid", nullable = false)
+    private UUID bookingId;
+
+    // MoMo orderId, fixed at enqueue time so every attempt creates or finds the same order
+    @Column(name = "order_id", nullable = false, unique = true)
+    private String orderId;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Column(name = "order_info", nullable = false)
+    private String orderInfo;
+
+    @Column(name = "is_deposit", nullable = false)
+    private Boolean deposit;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxStatus status;
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
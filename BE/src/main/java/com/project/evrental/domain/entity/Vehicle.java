@@ -4,7 +4,9 @@ import com.project.evrental.domain.common.FuelType;
 import com.project.evrental.domain.common.VehicleStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
@@ -13,6 +15,8 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "vehicles")
+// Only changed columns are written, so editing a vehicle never overwrites rent_count flushed by CounterService
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
@@ -75,4 +79,9 @@ public class Vehicle {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
 }
\ No newline at end of file
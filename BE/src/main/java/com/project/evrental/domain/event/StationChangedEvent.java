@@ -0,0 +1,9 @@
+package com.project.evrental.domain.event;
+
+import java.util.UUID;
+
+/**
+ * Published whenever a station is created, updated, deleted or changes status.
+ */
+public record StationChangedEvent(UUID stationId) {
+}
@@ -0,0 +1,7 @@
+package com.project.evrental.domain.event;
+
+/**
+ * Published whenever a user's email, role or station changes, or the user is deleted.
+ */
+public record UserChangedEvent(String cognitoSub) {
+}
@@ -0,0 +1,10 @@
+package com.project.evrental.domain.event;
+
+import java.util.UUID;
+
+/**
+ * Published whenever a vehicle is created, updated, deleted or changes status, including
+ * status changes made by booking transitions.
+ */
+public record VehicleChangedEvent(UUID vehicleId, UUID stationId) {
+}
@@ -0,0 +1,11 @@
+package com.project.evrental.exception.custom;
+
+/**
+ * A gateway callback for the same transaction is still being applied by another request.
+ * Retryable: the gateway resends the callback and finds it settled or free to claim.
+ */
+public class CallbackInFlightException extends RuntimeException {
+    public CallbackInFlightException(String message) {
+        super(message);
+    }
+}
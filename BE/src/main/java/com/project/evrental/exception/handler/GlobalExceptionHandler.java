@@ -3,8 +3,10 @@ package com.project.evrental.exception.handler;
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
 import com.project.evrental.domain.ErrorResponse;
 import com.project.evrental.exception.custom.AuthException;
+import com.project.evrental.exception.custom.CallbackInFlightException;
 import com.project.evrental.exception.custom.ResourceNotFoundException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -14,6 +16,7 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -79,6 +82,23 @@ public class GlobalExceptionHandler {
                         .build());
     }
 
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<ErrorResponse<Map<String, String>>> handleMethodValidationExceptions(
+            HandlerMethodValidationException ex) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getParameterValidationResults().forEach(result -> result.getResolvableErrors().forEach(error ->
+                errors.put(result.getMethodParameter().getParameterName(), error.getDefaultMessage())));
+
+        log.error("Validation error: {}", errors);
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ErrorResponse.<Map<String, String>>builder()
+                        .statusCode(400)
+                        .message("Validation failed")
+                        .errors(errors)
+                        .build());
+    }
+
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ErrorResponse<String>> handleAccessDeniedException(AccessDeniedException ex) {
         log.error("Access denied: {}", ex.getMessage());
@@ -123,6 +143,28 @@ public class GlobalExceptionHandler {
                         .errors(ex.getMessage()).build());
     }
 
+    @ExceptionHandler(CallbackInFlightException.class)
+    public ResponseEntity<ErrorResponse<String>> handleCallbackInFlightException(CallbackInFlightException ex) {
+        log.info("Callback in flight: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(ErrorResponse.<String>builder()
+                        .statusCode(409)
+                        .message("Callback is already being processed, please retry")
+                        .errors(ex.getMessage()).build());
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse<String>> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        log.warn("Concurrent update conflict: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(ErrorResponse.<String>builder()
+                        .statusCode(409)
+                        .message("Resource was modified concurrently, please reload and try again")
+                        .errors(ex.getMessage()).build());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse<String>> handleGlobalException(Exception ex) {
         log.error("Unexpected error: ", ex);
@@ -2,15 +2,24 @@ package com.project.evrental.repository;
 
 import com.project.evrental.domain.common.BookingStatus;
 import com.project.evrental.domain.entity.Booking;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, UUID> {
@@ -25,6 +34,25 @@ public interface BookingRepository extends JpaRepository<Booking, UUID> {
 
     List<Booking> findByStationId(UUID stationId);
 
+    // Read paths for list endpoints, fetching the associations BookingResponse needs in one query
+    @EntityGraph(Booking.SUMMARY_GRAPH)
+    Page<Booking> findAllWithSummaryBy(Pageable pageable);
+
+    @EntityGraph(Booking.SUMMARY_GRAPH)
+    List<Booking> findWithSummaryByRenterId(UUID renterId);
+
+    @EntityGraph(Booking.SUMMARY_GRAPH)
+    List<Booking> findWithSummaryByStatus(BookingStatus status);
+
+    @EntityGraph(Booking.SUMMARY_GRAPH)
+    List<Booking> findWithSummaryByVehicleId(UUID vehicleId);
+
+    @EntityGraph(Booking.SUMMARY_GRAPH)
+    List<Booking> findWithSummaryByStationId(UUID stationId);
+
+    @EntityGraph(Booking.SUMMARY_GRAPH)
+    Optional<Booking> findWithSummaryById(UUID id);
+
     // Count bookings by renter
     long countByRenterId(UUID renterId);
 
@@ -49,4 +77,66 @@ public interface BookingRepository extends JpaRepository<Booking, UUID> {
     long countByStatusIn(List<BookingStatus> statuses);
     @Query("SELECT b FROM Booking b WHERE b.id=:id AND b.status = 'COMPLETED'")
     Booking findBookingByIdAndStatusCompleted(UUID bookingId);
+
+    // PENDING bookings whose deposit was never paid, oldest first
+    @Query("""
+            SELECT b.id FROM Booking b
+            WHERE b.status = 'PENDING'
+              AND b.paymentStatus = 'PENDING'
+              AND b.createdAt < :createdBefore
+            ORDER BY b.createdAt ASC
+            """)
+    List<UUID> findUnpaidPendingIds(@Param("createdBefore") LocalDateTime createdBefore, Limit limit);
+
+    // Keyset page ordered newest first; pass a null cursor for the first page
+    @Query("""
+            SELECT b FROM Booking b
+            WHERE (:cursorCreatedAt IS NULL
+                   OR b.createdAt < :cursorCreatedAt
+                   OR (b.createdAt = :cursorCreatedAt AND b.id < :cursorId))
+            ORDER BY b.createdAt DESC, b.id DESC
+            """)
+    @EntityGraph(Booking.SUMMARY_GRAPH)
+    List<Booking> findPageAfter(
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") UUID cursorId,
+            Limit limit
+    );
+
+    // Forward-only cursor for exports; associations are fetch-joined so rows need no lazy loading
+    @Query("""
+            SELECT b FROM Booking b
+            LEFT JOIN FETCH b.renter
+            LEFT JOIN FETCH b.vehicle
+            LEFT JOIN FETCH b.station
+            LEFT JOIN FETCH b.checkedOutBy
+            LEFT JOIN FETCH b.checkedInBy
+            ORDER BY b.createdAt DESC
+            """)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Booking> streamAllWithAssociations();
+
+    interface ReservationSlot {
+        UUID getId();
+        UUID getVehicleId();
+        LocalDateTime getStartTime();
+        LocalDateTime getExpectedEndTime();
+    }
+
+    // Same predicate as the ex_bookings_vehicle_period exclusion constraint
+    @Query("""
+            SELECT b.id AS id, b.vehicle.id AS vehicleId,
+                   b.startTime AS startTime, b.expectedEndTime AS expectedEndTime
+            FROM Booking b
+            WHERE b.vehicle.id IN :vehicleIds
+              AND b.status NOT IN ('CANCELLED', 'COMPLETED')
+              AND b.expectedEndTime > :now
+            """)
+    List<ReservationSlot> findActiveReservationSlots(
+            @Param("vehicleIds") Collection<UUID> vehicleIds,
+            @Param("now") LocalDateTime now
+    );
 }
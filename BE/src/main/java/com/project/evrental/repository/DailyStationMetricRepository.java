@@ -0,0 +1,202 @@
+package com.project.evrental.repository;
+
+import com.project.evrental.domain.entity.DailyStationMetric;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface DailyStationMetricRepository extends JpaRepository<DailyStationMetric, UUID> {
+
+    // ==================== Write side ====================
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO daily_station_metrics (id, metric_date, station_id,
+                                               bookings_created, bookings_completed, bookings_cancelled,
+                                               revenue, rental_revenue, extra_fees, late_fees,
+                                               collected_amount, active_minutes, updated_at)
+            VALUES (gen_random_uuid(), :metricDate, :stationId,
+                    :bookingsCreated, :bookingsCompleted, :bookingsCancelled,
+                    :revenue, :rentalRevenue, :extraFees, :lateFees,
+                    :collectedAmount, :activeMinutes, NOW())
+            ON CONFLICT (metric_date, station_id) DO UPDATE SET
+                bookings_created   = daily_station_metrics.bookings_created + EXCLUDED.bookings_created,
+                bookings_completed = daily_station_metrics.bookings_completed + EXCLUDED.bookings_completed,
+                bookings_cancelled = daily_station_metrics.bookings_cancelled + EXCLUDED.bookings_cancelled,
+                revenue            = daily_station_metrics.revenue + EXCLUDED.revenue,
+                rental_revenue     = daily_station_metrics.rental_revenue + EXCLUDED.rental_revenue,
+                extra_fees         = daily_station_metrics.extra_fees + EXCLUDED.extra_fees,
+                late_fees          = daily_station_metrics.late_fees + EXCLUDED.late_fees,
+                collected_amount   = daily_station_metrics.collected_amount + EXCLUDED.collected_amount,
+                active_minutes     = daily_station_metrics.active_minutes + EXCLUDED.active_minutes,
+                updated_at         = NOW()
+            """, nativeQuery = true)
+    void increment(@Param("metricDate") LocalDate metricDate,
+                   @Param("stationId") UUID stationId,
+                   @Param("bookingsCreated") long bookingsCreated,
+                   @Param("bookingsCompleted") long bookingsCompleted,
+                   @Param("bookingsCancelled") long bookingsCancelled,
+                   @Param("revenue") BigDecimal revenue,
+                   @Param("rentalRevenue") BigDecimal rentalRevenue,
+                   @Param("extraFees") BigDecimal extraFees,
+                   @Param("lateFees") BigDecimal lateFees,
+                   @Param("collectedAmount") BigDecimal collectedAmount,
+                   @Param("activeMinutes") long activeMinutes);
+
+    // Late fees are only known at completion time, so reconciliation keeps the value recorded by the write hooks
+    @Modifying
+    @Query(value = """
+            UPDATE daily_station_metrics
+            SET bookings_created = 0, bookings_completed = 0, bookings_cancelled = 0,
+                revenue = 0, rental_revenue = 0, extra_fees = 0,
+                collected_amount = 0, active_minutes = 0, updated_at = NOW()
+            WHERE metric_date = :metricDate
+            """, nativeQuery = true)
+    void resetDay(@Param("metricDate") LocalDate metricDate);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO daily_station_metrics (id, metric_date, station_id,
+                                               bookings_created, bookings_completed, bookings_cancelled,
+                                               revenue, rental_revenue, extra_fees, late_fees,
+                                               collected_amount, active_minutes, updated_at)
+            SELECT gen_random_uuid(), :metricDate, e.station_id,
+                   SUM(e.created), SUM(e.completed), SUM(e.cancelled),
+                   COALESCE(SUM(e.revenue), 0), COALESCE(SUM(e.rental_revenue), 0), COALESCE(SUM(e.extra_fees), 0), 0,
+                   COALESCE(SUM(e.collected), 0), CAST(COALESCE(SUM(e.active_minutes), 0) AS BIGINT), NOW()
+            FROM (
+                SELECT b.station_id, 1 AS created, 0 AS completed, 0 AS cancelled,
+                       0 AS revenue, 0 AS rental_revenue, 0 AS extra_fees, 0 AS collected, 0 AS active_minutes
+                FROM bookings b
+                WHERE b.created_at >= :dayStart AND b.created_at < :dayEnd
+                UNION ALL
+                SELECT b.station_id, 0, 1, 0,
+                       b.total_amount, b.base_price, b.extra_fee, 0,
+                       FLOOR(EXTRACT(EPOCH FROM (b.actual_end_time - b.start_time)) / 60)
+                FROM bookings b
+                WHERE b.status = 'COMPLETED'
+                  AND b.actual_end_time >= :dayStart AND b.actual_end_time < :dayEnd
+                UNION ALL
+                SELECT b.station_id, 0, 0, 1, 0, 0, 0, 0, 0
+                FROM bookings b
+                WHERE b.status = 'CANCELLED'
+                  AND b.updated_at >= :dayStart AND b.updated_at < :dayEnd
+                UNION ALL
+                SELECT b.station_id, 0, 0, 0, 0, 0, 0, p.amount, 0
+                FROM payments p
+                JOIN bookings b ON b.id = p.booking_id
+                WHERE p.status IN ('PAID', 'PARTIALLY_PAID')
+                  AND p.paid_at >= :dayStart AND p.paid_at < :dayEnd
+            ) e
+            GROUP BY e.station_id
+            ON CONFLICT (metric_date, station_id) DO UPDATE SET
+                bookings_created   = EXCLUDED.bookings_created,
+                bookings_completed = EXCLUDED.bookings_completed,
+                bookings_cancelled = EXCLUDED.bookings_cancelled,
+                revenue            = EXCLUDED.revenue,
+                rental_revenue     = EXCLUDED.rental_revenue,
+                extra_fees         = EXCLUDED.extra_fees,
+                collected_amount   = EXCLUDED.collected_amount,
+                active_minutes     = EXCLUDED.active_minutes,
+                updated_at         = NOW()
+            """, nativeQuery = true)
+    void recomputeDay(@Param("metricDate") LocalDate metricDate,
+                      @Param("dayStart") LocalDateTime dayStart,
+                      @Param("dayEnd") LocalDateTime dayEnd);
+
+    @Query(value = "SELECT CAST(MIN(b.created_at) AS DATE) FROM bookings b", nativeQuery = true)
+    LocalDate findFirstBookingDate();
+
+    // ==================== Read side ====================
+
+    interface MetricTotalsProjection {
+        Long getBookingsCreated();
+        Long getBookingsCompleted();
+        Long getBookingsCancelled();
+        BigDecimal getRevenue();
+        BigDecimal getRentalRevenue();
+        BigDecimal getExtraFees();
+        BigDecimal getLateFees();
+        BigDecimal getCollectedAmount();
+        Long getActiveMinutes();
+    }
+
+    @Query(value = """
+            SELECT COALESCE(SUM(m.bookings_created), 0) AS bookingsCreated,
+                   COALESCE(SUM(m.bookings_completed), 0) AS bookingsCompleted,
+                   COALESCE(SUM(m.bookings_cancelled), 0) AS bookingsCancelled,
+                   COALESCE(SUM(m.revenue), 0) AS revenue,
+                   COALESCE(SUM(m.rental_revenue), 0) AS rentalRevenue,
+                   COALESCE(SUM(m.extra_fees), 0) AS extraFees,
+                   COALESCE(SUM(m.late_fees), 0) AS lateFees,
+                   COALESCE(SUM(m.collected_amount), 0) AS collectedAmount,
+                   COALESCE(SUM(m.active_minutes), 0) AS activeMinutes
+            FROM daily_station_metrics m
+            """, nativeQuery = true)
+    MetricTotalsProjection sumAll();
+
+    @Query(value = """
+            SELECT COALESCE(SUM(m.bookings_created), 0) AS bookingsCreated,
+                   COALESCE(SUM(m.bookings_completed), 0) AS bookingsCompleted,
+                   COALESCE(SUM(m.bookings_cancelled), 0) AS bookingsCancelled,
+                   COALESCE(SUM(m.revenue), 0) AS revenue,
+                   COALESCE(SUM(m.rental_revenue), 0) AS rentalRevenue,
+                   COALESCE(SUM(m.extra_fees), 0) AS extraFees,
+                   COALESCE(SUM(m.late_fees), 0) AS lateFees,
+                   COALESCE(SUM(m.collected_amount), 0) AS collectedAmount,
+                   COALESCE(SUM(m.active_minutes), 0) AS activeMinutes
+            FROM daily_station_metrics m
+            WHERE m.metric_date >= :fromDate AND m.metric_date < :toDate
+            """, nativeQuery = true)
+    MetricTotalsProjection sumBetween(@Param("fromDate") LocalDate fromDate,
+                                      @Param("toDate") LocalDate toDate);
+
+    interface MonthlyMetricProjection {
+        Integer getYear();
+        Integer getMonth();
+        BigDecimal getRevenue();
+        Long getBookingsCreated();
+        Long getBookingsCompleted();
+    }
+
+    @Query(value = """
+            SELECT CAST(EXTRACT(YEAR FROM m.metric_date) AS INTEGER) AS year,
+                   CAST(EXTRACT(MONTH FROM m.metric_date) AS INTEGER) AS month,
+                   COALESCE(SUM(m.revenue), 0) AS revenue,
+                   COALESCE(SUM(m.bookings_created), 0) AS bookingsCreated,
+                   COALESCE(SUM(m.bookings_completed), 0) AS bookingsCompleted
+            FROM daily_station_metrics m
+            WHERE m.metric_date >= :fromDate AND m.metric_date < :toDate
+            GROUP BY 1, 2
+            ORDER BY 1, 2
+            """, nativeQuery = true)
+    List<MonthlyMetricProjection> sumByMonth(@Param("fromDate") LocalDate fromDate,
+                                             @Param("toDate") LocalDate toDate);
+
+    interface YearlyMetricProjection {
+        Integer getYear();
+        BigDecimal getRevenue();
+        Long getBookingsCompleted();
+    }
+
+    @Query(value = """
+            SELECT CAST(EXTRACT(YEAR FROM m.metric_date) AS INTEGER) AS year,
+                   COALESCE(SUM(m.revenue), 0) AS revenue,
+                   COALESCE(SUM(m.bookings_completed), 0) AS bookingsCompleted
+            FROM daily_station_metrics m
+            WHERE m.metric_date >= :fromDate AND m.metric_date < :toDate
+            GROUP BY 1
+            ORDER BY 1
+            """, nativeQuery = true)
+    List<YearlyMetricProjection> sumByYear(@Param("fromDate") LocalDate fromDate,
+                                           @Param("toDate") LocalDate toDate);
+}
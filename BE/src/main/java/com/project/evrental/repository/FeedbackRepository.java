@@ -1,6 +1,7 @@
 package com.project.evrental.repository;
 
 import com.project.evrental.domain.entity.Feedback;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -109,5 +110,75 @@ public interface FeedbackRepository extends JpaRepository<Feedback, UUID> {
     @Query("SELECT CAST(FLOOR(f.stationRating) AS int), COUNT(f) FROM Feedback f " +
            "GROUP BY CAST(FLOOR(f.stationRating) AS int)")
     List<Object[]> getStationRatingDistribution();
-}
 
+    // Keyset (cursor) variants of the listings above, newest first; a null cursor means the first page
+    @Query("""
+            SELECT f FROM Feedback f
+            WHERE f.renter.id = :renterId
+              AND (:cursorCreatedAt IS NULL
+                   OR f.createdAt < :cursorCreatedAt
+                   OR (f.createdAt = :cursorCreatedAt AND f.id < :cursorId))
+            ORDER BY f.createdAt DESC, f.id DESC
+            """)
+    List<Feedback> findByRenterIdPageAfter(
+            @Param("renterId") UUID renterId,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") UUID cursorId,
+            Limit limit
+    );
+
+    @Query("""
+            SELECT f FROM Feedback f
+            WHERE f.booking.vehicle.id = :vehicleId
+              AND (:cursorCreatedAt IS NULL
+                   OR f.createdAt < :cursorCreatedAt
+                   OR (f.createdAt = :cursorCreatedAt AND f.id < :cursorId))
+            ORDER BY f.createdAt DESC, f.id DESC
+            """)
+    List<Feedback> findByVehicleIdPageAfter(
+            @Param("vehicleId") UUID vehicleId,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") UUID cursorId,
+            Limit limit
+    );
+
+    @Query("""
+            SELECT f FROM Feedback f
+            WHERE f.booking.station.id = :stationId
+              AND (:cursorCreatedAt IS NULL
+                   OR f.createdAt < :cursorCreatedAt
+                   OR (f.createdAt = :cursorCreatedAt AND f.id < :cursorId))
+            ORDER BY f.createdAt DESC, f.id DESC
+            """)
+    List<Feedback> findByStationIdPageAfter(
+            @Param("stationId") UUID stationId,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") UUID cursorId,
+            Limit limit
+    );
+
+    @Query(value = "SELECT f.* FROM feedbacks f " +
+           "JOIN bookings b ON b.id = f.booking_id " +
+           "WHERE (CAST(:stationId AS uuid) IS NULL OR b.station_id = CAST(:stationId AS uuid)) " +
+           "AND (CAST(:vehicleId AS uuid) IS NULL OR b.vehicle_id = CAST(:vehicleId AS uuid)) " +
+           "AND (CAST(:renterId AS uuid) IS NULL OR f.renter_id = CAST(:renterId AS uuid)) " +
+           "AND (CAST(:fromDate AS timestamp) IS NULL OR f.created_at >= CAST(:fromDate AS timestamp)) " +
+           "AND (CAST(:toDate AS timestamp) IS NULL OR f.created_at <= CAST(:toDate AS timestamp)) " +
+           "AND (CAST(:minRating AS double precision) IS NULL OR (f.vehicle_rating >= CAST(:minRating AS double precision) AND f.station_rating >= CAST(:minRating AS double precision))) " +
+           "AND (CAST(:maxRating AS double precision) IS NULL OR (f.vehicle_rating <= CAST(:maxRating AS double precision) AND f.station_rating <= CAST(:maxRating AS double precision))) " +
+           "AND (CAST(:cursorCreatedAt AS timestamp) IS NULL " +
+           "     OR (f.created_at, f.id) < (CAST(:cursorCreatedAt AS timestamp), CAST(:cursorId AS uuid))) " +
+           "ORDER BY f.created_at DESC, f.id DESC " +
+           "LIMIT :limit",
+           nativeQuery = true)
+    List<Feedback> findByFiltersPageAfter(@Param("stationId") UUID stationId,
+                                          @Param("vehicleId") UUID vehicleId,
+                                          @Param("renterId") UUID renterId,
+                                          @Param("fromDate") LocalDateTime fromDate,
+                                          @Param("toDate") LocalDateTime toDate,
+                                          @Param("minRating") Double minRating,
+                                          @Param("maxRating") Double maxRating,
+                                          @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                          @Param("cursorId") UUID cursorId,
+                                          @Param("limit") int limit);
+}
@@ -0,0 +1,33 @@
+package com.project.evrental.repository;
+
+import com.project.evrental.domain.common.OutboxStatus;
+import com.project.evrental.domain.entity.PaymentOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface PaymentOutboxRepository extends JpaRepository<PaymentOutbox, UUID> {
+
+    // SKIP LOCKED lets several instances drain the outbox without claiming the same rows
+    @Query(value = """
+            SELECT *
+            FROM payment_outbox
+            WHERE status = 'PENDING'
+              AND next_attempt_at <= :now
+            ORDER BY next_attempt_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<PaymentOutbox> findDueForUpdate(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    long countByStatus(OutboxStatus status);
+
+    @Query("SELECT MIN(o.createdAt) FROM PaymentOutbox o WHERE o.status = :status")
+    LocalDateTime findOldestCreatedAtByStatus(@Param("status") OutboxStatus status);
+}
@@ -2,9 +2,13 @@ package com.project.evrental.repository;
 
 import com.project.evrental.domain.common.PaymentStatus;
 import com.project.evrental.domain.entity.Payment;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,4 +21,29 @@ public interface PaymentRepository extends JpaRepository<Payment, UUID> {
     List<Payment> findByBookingId(UUID bookingId);
 
     Optional<Payment> findByBooking_IdAndStatus(UUID bookingId, PaymentStatus status);
+
+    interface PendingGatewayPayment {
+        UUID getId();
+        String getTransactionId();
+        LocalDateTime getCreatedAt();
+    }
+
+    // Keyset over PENDING payments that already have a MoMo order, oldest first
+    @Query("""
+            SELECT p.id AS id, p.transactionId AS transactionId, p.createdAt AS createdAt
+            FROM Payment p
+            WHERE p.status = 'PENDING'
+              AND p.transactionId IS NOT NULL
+              AND p.createdAt < :createdBefore
+              AND (:cursorCreatedAt IS NULL
+                   OR p.createdAt > :cursorCreatedAt
+                   OR (p.createdAt = :cursorCreatedAt AND p.id > :cursorId))
+            ORDER BY p.createdAt ASC, p.id ASC
+            """)
+    List<PendingGatewayPayment> findPendingGatewayPaymentsAfter(
+            @Param("createdBefore") LocalDateTime createdBefore,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") UUID cursorId,
+            Limit limit
+    );
 }
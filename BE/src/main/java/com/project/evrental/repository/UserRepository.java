@@ -2,7 +2,10 @@ package com.project.evrental.repository;
 
 import com.project.evrental.domain.common.UserRole;
 import com.project.evrental.domain.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -31,4 +34,17 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 
     // Find users created after a specific date
     List<User> findByCreatedAtAfter(LocalDateTime date);
+
+    @Query("""
+            SELECT u FROM User u
+            WHERE (:cursorCreatedAt IS NULL
+                   OR u.createdAt < :cursorCreatedAt
+                   OR (u.createdAt = :cursorCreatedAt AND u.id < :cursorId))
+            ORDER BY u.createdAt DESC, u.id DESC
+            """)
+    List<User> findPageAfter(
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") UUID cursorId,
+            Limit limit
+    );
 }
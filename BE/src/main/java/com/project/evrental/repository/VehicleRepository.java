@@ -2,12 +2,15 @@ package com.project.evrental.repository;
 
 import com.project.evrental.domain.common.VehicleStatus;
 import com.project.evrental.domain.entity.Vehicle;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -30,27 +33,34 @@ public interface VehicleRepository extends JpaRepository<Vehicle, UUID> {
             @Param("brand") String brand
     );
 
-    @Query(value = """
-            SELECT v.*
-            FROM vehicles v
-            WHERE v.station_id = :stationId
-            AND (:fuelType IS NULL OR v.fuelType = :fuelType)
-            AND NOT EXISTS (
-                SELECT 1
-                FROM bookings b
-                WHERE b.vehicle_id = v.id
-                AND b.status NOT IN ('CANCELLED', 'COMPLETED')
-                AND (
-                    b.start_time <= :endTime AND b.expected_end_time >= :startTime
-                )
-            )
-            ORDER BY v.rating DESC NULLS LAST, v.rent_count DESC
-            """, nativeQuery = true)
-    List<Vehicle> findTrulyAvailableVehicles(
-            @Param("stationId") UUID stationId,
+    @Query("""
+            SELECT v
+            FROM Vehicle v
+            WHERE v.status = 'AVAILABLE'
+              AND v.station.id IN :stationIds
+              AND (:fuelType IS NULL OR v.fuelType = :fuelType)
+              AND (:brand IS NULL OR v.brand = :brand)
+            ORDER BY v.rating DESC, v.rentCount DESC
+    """)
+    List<Vehicle> findAvailableVehiclesByStationIdsAndFuelTypeAndBrand(
+            @Param("stationIds") Collection<UUID> stationIds,
             @Param("fuelType") String fuelType,
-            @Param("startTime") LocalDateTime startTime,
-            @Param("endTime") LocalDateTime endTime
+            @Param("brand") String brand
+    );
+
+    // Candidates for a time-window search; ReservationEngine filters out vehicles booked in that window
+    @Query("""
+            SELECT v
+            FROM Vehicle v
+            WHERE v.station.id IN :stationIds
+              AND (:fuelType IS NULL OR v.fuelType = :fuelType)
+              AND (:brand IS NULL OR v.brand = :brand)
+            ORDER BY v.rating DESC NULLS LAST, v.rentCount DESC
+            """)
+    List<Vehicle> findByStationIdsAndFuelTypeAndBrand(
+            @Param("stationIds") Collection<UUID> stationIds,
+            @Param("fuelType") String fuelType,
+            @Param("brand") String brand
     );
 
     List<Vehicle> findByStationIdAndStatus(UUID stationId, VehicleStatus status);
@@ -86,4 +96,43 @@ public interface VehicleRepository extends JpaRepository<Vehicle, UUID> {
 
     // Find vehicles created after a specific date
     List<Vehicle> findByCreatedAtAfter(LocalDateTime date);
+
+    @Query("""
+            SELECT v FROM Vehicle v
+            WHERE (:cursorCreatedAt IS NULL
+                   OR v.createdAt < :cursorCreatedAt
+                   OR (v.createdAt = :cursorCreatedAt AND v.id < :cursorId))
+            ORDER BY v.createdAt DESC, v.id DESC
+            """)
+    List<Vehicle> findPageAfter(
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") UUID cursorId,
+            Limit limit
+    );
+
+    @Query("SELECT v.status FROM Vehicle v WHERE v.id = :id")
+    Optional<VehicleStatus> findStatusById(@Param("id") UUID id);
+
+    // Compare-and-set transitions: they bump the version like an entity update would, and report
+    // 0 rows when the vehicle is no longer in the expected state
+    @Modifying
+    @Query("""
+            UPDATE Vehicle v
+            SET v.status = :to, v.version = v.version + 1, v.updatedAt = :now
+            WHERE v.id = :id AND v.status = :from
+            """)
+    int compareAndSetStatus(
+            @Param("id") UUID id,
+            @Param("from") VehicleStatus from,
+            @Param("to") VehicleStatus to,
+            @Param("now") LocalDateTime now
+    );
+
+    @Modifying
+    @Query("""
+            UPDATE Vehicle v
+            SET v.rentCount = COALESCE(v.rentCount, 0) + 1, v.version = v.version + 1, v.updatedAt = :now
+            WHERE v.id = :id
+            """)
+    int incrementRentCount(@Param("id") UUID id, @Param("now") LocalDateTime now);
 }
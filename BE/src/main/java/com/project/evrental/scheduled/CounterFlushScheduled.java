@@ -0,0 +1,27 @@
+package com.project.evrental.scheduled;
+
+import com.project.evrental.service.counter.CounterService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class CounterFlushScheduled {
+
+    CounterService counterService;
+
+    @Scheduled(fixedDelayString = "${counter.flush-interval:PT10S}")
+    public void flushCounters() {
+        try {
+            counterService.flush();
+        } catch (Exception e) {
+            log.error("Error flushing buffered counters", e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.project.evrental.scheduled;
+
+import com.project.evrental.service.auth.CognitoJwkSource;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class JwksRefreshScheduled {
+
+    CognitoJwkSource cognitoJwkSource;
+
+    // Picks up rotated keys before the first token signed with them arrives
+    @Scheduled(fixedDelayString = "${aws.cognito.jwks.refresh-interval:PT1H}",
+            initialDelayString = "${aws.cognito.jwks.refresh-interval:PT1H}")
+    public void refreshKeys() {
+        try {
+            cognitoJwkSource.refresh();
+        } catch (Exception e) {
+            log.error("Error refreshing Cognito JWKS, keeping the current keys", e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.project.evrental.scheduled;
+
+import com.project.evrental.service.admin.MetricsRollupService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class MetricsRollupScheduled {
+
+    @NonFinal
+    @Value("${rollup.daily.reconcile-days:3}")
+    int reconcileDays;
+
+    MetricsRollupService metricsRollupService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        try {
+            metricsRollupService.backfillIfEmpty();
+        } catch (Exception e) {
+            log.error("Error backfilling daily station metrics", e);
+        }
+    }
+
+    @Scheduled(cron = "${rollup.daily.cron:0 10 0 * * *}")
+    public void reconcileRecentDays() {
+        try {
+            LocalDate today = LocalDate.now();
+            metricsRollupService.recomputeRange(today.minusDays(reconcileDays), today);
+        } catch (Exception e) {
+            log.error("Error reconciling daily station metrics", e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.project.evrental.scheduled;
+
+import com.project.evrental.service.PaymentOutboxService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class PaymentOutboxScheduled {
+
+    PaymentOutboxService paymentOutboxService;
+
+    @Scheduled(fixedDelayString = "${payment.outbox.poll-interval:PT2S}")
+    public void drainOutbox() {
+        try {
+            paymentOutboxService.drain();
+        } catch (Exception e) {
+            log.error("Error draining payment outbox", e);
+        }
+    }
+}
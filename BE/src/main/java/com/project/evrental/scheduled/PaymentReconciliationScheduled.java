@@ -0,0 +1,27 @@
+package com.project.evrental.scheduled;
+
+import com.project.evrental.service.PaymentService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class PaymentReconciliationScheduled {
+
+    PaymentService paymentService;
+
+    @Scheduled(fixedDelayString = "${momo.reconcile.interval:PT5M}")
+    public void reconcilePendingPayments() {
+        try {
+            paymentService.reconcilePendingPayments();
+        } catch (Exception e) {
+            log.error("Error reconciling pending MoMo payments", e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.project.evrental.scheduled;
+
+import com.project.evrental.domain.event.StationChangedEvent;
+import com.project.evrental.service.search.StationSpatialIndex;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class StationIndexScheduled {
+
+    StationSpatialIndex stationSpatialIndex;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    // Rebuild once the change is committed so the index never sees rolled-back data
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStationChanged(StationChangedEvent event) {
+        log.debug("Station {} changed, rebuilding spatial index", event.stationId());
+        rebuild();
+    }
+
+    // Picks up changes made by other instances and rating updates from feedback
+    @Scheduled(fixedDelayString = "${location.station-index.refresh-interval:PT5M}",
+            initialDelayString = "${location.station-index.refresh-interval:PT5M}")
+    public void refresh() {
+        rebuild();
+    }
+
+    private void rebuild() {
+        try {
+            stationSpatialIndex.rebuild();
+        } catch (Exception e) {
+            log.error("Failed to rebuild station spatial index", e);
+        }
+    }
+}
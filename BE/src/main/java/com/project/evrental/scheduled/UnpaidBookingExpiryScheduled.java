@@ -0,0 +1,27 @@
+package com.project.evrental.scheduled;
+
+import com.project.evrental.service.BookingService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class UnpaidBookingExpiryScheduled {
+
+    BookingService bookingService;
+
+    @Scheduled(fixedDelayString = "${reservation.unpaid-expiry-interval:PT5M}")
+    public void expireUnpaidBookings() {
+        try {
+            bookingService.expireUnpaidBookings();
+        } catch (Exception e) {
+            log.error("Error expiring unpaid bookings", e);
+        }
+    }
+}
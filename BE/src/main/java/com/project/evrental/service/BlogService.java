@@ -9,6 +9,8 @@ import com.project.evrental.exception.custom.ResourceNotFoundException;
 import com.project.evrental.mapper.BlogMapper;
 import com.project.evrental.repository.BlogRepository;
 import com.project.evrental.repository.UserRepository;
+import com.project.evrental.service.auth.PrincipalResolver;
+import com.project.evrental.service.counter.CounterService;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -16,9 +18,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -37,14 +36,14 @@ public class BlogService {
     BlogRepository blogRepository;
     UserRepository userRepository;
     S3Service s3Service;
+    CounterService counterService;
+    PrincipalResolver principalResolver;
 
     @Transactional
     public BlogResponse createBlog(CreateBlogRequest request) {
         log.info("Creating blog with title: {}", request.getTitle());
 
-        String email = getEmailFromAuthentication();
-        User author = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
+        User author = userRepository.getReferenceById(principalResolver.currentUser().getId());
 
         Blog blog = Blog.builder()
                 .title(request.getTitle())
@@ -59,7 +58,7 @@ public class BlogService {
         Blog savedBlog = blogRepository.save(blog);
         log.info("Blog created with ID: {}", savedBlog.getId());
 
-        return BlogMapper.toResponse(savedBlog);
+        return toResponse(savedBlog);
     }
 
     @Transactional
@@ -90,7 +89,7 @@ public class BlogService {
         Blog updatedBlog = blogRepository.save(blog);
         log.info("Blog updated successfully: {}", blogId);
 
-        return BlogMapper.toResponse(updatedBlog);
+        return toResponse(updatedBlog);
     }
 
     @Transactional(readOnly = true)
@@ -98,45 +97,45 @@ public class BlogService {
         log.info("Fetching blog with ID: {}", blogId);
         Blog blog = blogRepository.findById(blogId)
                 .orElseThrow(() -> new ResourceNotFoundException("Blog not found with ID: " + blogId));
-        return BlogMapper.toResponse(blog);
+        return toResponse(blog);
     }
 
-    @Transactional
+    /**
+     * Records a view in {@link CounterService} instead of rewriting the blog row; the returned
+     * count includes views not yet flushed to the database.
+     */
+    @Transactional(readOnly = true)
     public BlogResponse incrementViewCount(UUID blogId) {
         log.info("Incrementing view count for blog: {}", blogId);
         Blog blog = blogRepository.findById(blogId)
                 .orElseThrow(() -> new ResourceNotFoundException("Blog not found with ID: " + blogId));
-        
-        blog.setViewCount(blog.getViewCount() + 1);
-        Blog updatedBlog = blogRepository.save(blog);
-        
-        return BlogMapper.toResponse(updatedBlog);
+
+        counterService.increment(CounterService.Counter.BLOG_VIEWS, blogId);
+        return toResponse(blog);
     }
 
     @Transactional(readOnly = true)
     public Page<BlogResponse> getAllBlogs(Pageable pageable) {
         log.info("Fetching all blogs with pagination");
         Page<Blog> blogs = blogRepository.findAll(pageable);
-        return blogs.map(BlogMapper::toResponse);
+        return blogs.map(this::toResponse);
     }
 
     @Transactional(readOnly = true)
     public Page<BlogResponse> getPublishedBlogs(Pageable pageable) {
         log.info("Fetching published blogs with pagination");
         Page<Blog> blogs = blogRepository.findByPublishedTrue(pageable);
-        return blogs.map(BlogMapper::toResponse);
+        return blogs.map(this::toResponse);
     }
 
     @Transactional(readOnly = true)
     public List<BlogResponse> getMyBlogs() {
         log.info("Fetching blogs for current user");
-        String email = getEmailFromAuthentication();
-        User author = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
+        UUID authorId = principalResolver.currentUser().getId();
 
-        List<Blog> blogs = blogRepository.findByAuthorIdOrderByCreatedAtDesc(author.getId());
+        List<Blog> blogs = blogRepository.findByAuthorIdOrderByCreatedAtDesc(authorId);
         return blogs.stream()
-                .map(BlogMapper::toResponse)
+                .map(this::toResponse)
                 .collect(Collectors.toList());
     }
 
@@ -146,7 +145,7 @@ public class BlogService {
         Pageable pageable = PageRequest.of(0, limit);
         List<Blog> blogs = blogRepository.findTopViewedBlogs(pageable);
         return blogs.stream()
-                .map(BlogMapper::toResponse)
+                .map(this::toResponse)
                 .collect(Collectors.toList());
     }
 
@@ -156,7 +155,7 @@ public class BlogService {
         Pageable pageable = PageRequest.of(0, limit);
         List<Blog> blogs = blogRepository.findRecentPublishedBlogs(pageable);
         return blogs.stream()
-                .map(BlogMapper::toResponse)
+                .map(this::toResponse)
                 .collect(Collectors.toList());
     }
 
@@ -188,22 +187,12 @@ public class BlogService {
         blog.setThumbnailUrl(thumbnailUrl);
 
         Blog updatedBlog = blogRepository.save(blog);
-        return BlogMapper.toResponse(updatedBlog);
+        return toResponse(updatedBlog);
     }
 
-    private String getEmailFromAuthentication() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.getPrincipal() instanceof Jwt) {
-            Jwt jwt = (Jwt) authentication.getPrincipal();
-            String sub = jwt.getClaimAsString("sub");
-            if (sub != null) {
-                log.debug("Using sub claim as cognito_sub: {}", sub);
-                User user = userRepository.findByCognitoSub(sub).orElse(null);
-                if (user != null) {
-                    return user.getEmail();
-                }
-            }
-        }
-        return authentication != null ? authentication.getName() : null;
+    private BlogResponse toResponse(Blog blog) {
+        BlogResponse response = BlogMapper.toResponse(blog);
+        response.setViewCount(counterService.withPending(CounterService.Counter.BLOG_VIEWS, blog.getId(), blog.getViewCount()));
+        return response;
     }
 }
@@ -0,0 +1,46 @@
+package com.project.evrental.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Rental price arithmetic shared by booking creation and completion. Pure functions over the
+ * vehicle's rates, so they can be benchmarked without a persistence context.
+ */
+public final class BookingPricing {
+
+    static final BigDecimal LATE_FEE_MULTIPLIER = BigDecimal.valueOf(1.5);
+
+    private BookingPricing() {
+    }
+
+    /**
+     * Up to 24 hours costs one daily rate; longer rentals pay the daily rate per full day plus
+     * the hourly rate for the remaining whole hours.
+     */
+    public static BigDecimal basePrice(BigDecimal dailyRate, BigDecimal hourlyRate,
+                                       LocalDateTime start, LocalDateTime expectedEnd) {
+        long hours = Duration.between(start, expectedEnd).toHours();
+        if (hours <= 24) {
+            return dailyRate;
+        }
+        long days = hours / 24;
+        long remainingHours = hours % 24;
+        return dailyRate.multiply(BigDecimal.valueOf(days))
+                .add(hourlyRate.multiply(BigDecimal.valueOf(remainingHours)));
+    }
+
+    /** Whole hours past the expected end, or 0 when returned on time. */
+    public static long lateHours(LocalDateTime expectedEnd, LocalDateTime actualEnd) {
+        return actualEnd.isAfter(expectedEnd) ? Duration.between(expectedEnd, actualEnd).toHours() : 0;
+    }
+
+    /** 1.5x the hourly rate for every late hour. */
+    public static BigDecimal lateFee(BigDecimal hourlyRate, long lateHours) {
+        if (lateHours <= 0) {
+            return BigDecimal.ZERO;
+        }
+        return hourlyRate.multiply(BigDecimal.valueOf(lateHours)).multiply(LATE_FEE_MULTIPLIER);
+    }
+}
@@ -1,6 +1,7 @@
 package com.project.evrental.service;
 
 import com.project.evrental.domain.common.BookingStatus;
+import com.project.evrental.domain.common.PageCursor;
 import com.project.evrental.domain.common.PaymentMethod;
 import com.project.evrental.domain.common.PaymentStatus;
 import com.project.evrental.domain.common.VehicleStatus;
@@ -9,12 +10,15 @@ import com.project.evrental.domain.dto.request.UpdateBookingRequest;
 import com.project.evrental.domain.dto.response.BookingDetailResponse;
 import com.project.evrental.domain.dto.response.BookingResponse;
 import com.project.evrental.domain.dto.response.BookingWithPaymentResponse;
+import com.project.evrental.domain.dto.response.CursorPageResponse;
 import com.project.evrental.domain.dto.response.MoMoPaymentResponse;
 import com.project.evrental.domain.entity.Booking;
 import com.project.evrental.domain.entity.Payment;
+import com.project.evrental.domain.entity.PaymentOutbox;
 import com.project.evrental.domain.entity.Station;
 import com.project.evrental.domain.entity.User;
 import com.project.evrental.domain.entity.Vehicle;
+import com.project.evrental.domain.event.VehicleChangedEvent;
 import com.project.evrental.exception.custom.ResourceNotFoundException;
 import com.project.evrental.mapper.BookingMapper;
 import com.project.evrental.repository.BookingRepository;
@@ -22,17 +26,24 @@ import com.project.evrental.repository.PaymentRepository;
 import com.project.evrental.repository.StationRepository;
 import com.project.evrental.repository.UserRepository;
 import com.project.evrental.repository.VehicleRepository;
+import com.project.evrental.service.admin.MetricsRollupService;
+import com.project.evrental.service.auth.PrincipalResolver;
+import com.project.evrental.service.reservation.ReservationEngine;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.Duration;
@@ -54,14 +65,82 @@ public class BookingService {
     PaymentRepository paymentRepository;
     BookingMapper bookingMapper;
     MoMoService moMoService;
-
-    @Transactional
+    PaymentOutboxService paymentOutboxService;
+    MetricsRollupService metricsRollupService;
+    ReservationEngine reservationEngine;
+    TransactionTemplate transactionTemplate;
+    OptimisticLockRetry optimisticLockRetry;
+    ApplicationEventPublisher eventPublisher;
+    PrincipalResolver principalResolver;
+
+    @NonFinal
+    @Value("${reservation.unpaid-expiry:PT2H}")
+    Duration unpaidExpiry;
+
+    @NonFinal
+    @Value("${reservation.unpaid-expiry-batch-size:100}")
+    int unpaidExpiryBatchSize;
+
+    /**
+     * Persists the booking and a PENDING deposit payment in a short transaction, then calls the
+     * MoMo gateway after commit so no database connection is held during the round trip.
+     */
     public BookingWithPaymentResponse createBooking(CreateBookingRequest request) {
         log.info("Creating booking for vehicle: {}", request.getVehicleId());
 
-        String email = getEmailFromAuthentication();
-        User renter = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
+        PendingPayment pending;
+        try {
+            pending = transactionTemplate.execute(status -> reserveBooking(request));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance reserved an overlapping window first; the exclusion constraint rejected ours
+            throw new IllegalStateException("Vehicle is already booked for the selected time");
+        }
+        Booking savedBooking = pending.booking();
+
+        MoMoPaymentResponse moMoResponse = requestGatewayPayment(pending,
+                "Thanh toan tien coc booking " + savedBooking.getBookingCode(), true);
+
+        if (moMoResponse == null || !"0".equals(moMoResponse.getResultCode())) {
+            transactionTemplate.executeWithoutResult(status -> {
+                savedBooking.setStatus(BookingStatus.CANCELLED);
+                bookingRepository.save(savedBooking);
+                reservationEngine.release(savedBooking);
+                metricsRollupService.recordBookingCancelled(savedBooking);
+            });
+            throw new RuntimeException("Cannot create MoMo payment order");
+        }
+
+        User renter = savedBooking.getRenter();
+        Vehicle vehicle = savedBooking.getVehicle();
+        Station station = savedBooking.getStation();
+        return BookingWithPaymentResponse.builder()
+                .id(savedBooking.getId())
+                .bookingCode(savedBooking.getBookingCode())
+                .renterId(renter.getId())
+                .renterName(renter.getFullName())
+                .renterEmail(renter.getEmail())
+                .vehicleId(vehicle.getId())
+                .vehicleName(vehicle.getName())
+                .licensePlate(vehicle.getLicensePlate())
+                .stationId(station.getId())
+                .stationName(station.getName())
+                .startTime(savedBooking.getStartTime())
+                .expectedEndTime(savedBooking.getExpectedEndTime())
+                .status(savedBooking.getStatus().toString())
+                .basePrice(savedBooking.getBasePrice())
+                .depositPaid(savedBooking.getDepositPaid())
+                .totalAmount(savedBooking.getTotalAmount())
+                .pickupNote(savedBooking.getPickupNote())
+                .paymentStatus(savedBooking.getPaymentStatus().toString())
+                .momoPayment(moMoResponse)
+                .createdAt(savedBooking.getCreatedAt())
+                .build();
+    }
+
+    private PendingPayment reserveBooking(CreateBookingRequest request) {
+        UUID renterId = principalResolver.currentUser().getId();
+        User renter = userRepository.findById(renterId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + renterId));
 
         if (renter.getLicenseCardFrontImageUrl() == null || renter.getLicenseCardBackImageUrl() == null) {
             throw new IllegalStateException(
@@ -92,16 +171,8 @@ public class BookingService {
             throw new IllegalArgumentException("Start time must be before expected end time");
         }
 
-        long hours = Duration.between(request.getStartTime(), request.getExpectedEndTime()).toHours();
-        BigDecimal basePrice;
-        if (hours <= 24) {
-            basePrice = vehicle.getDailyRate();
-        } else {
-            long days = hours / 24; // days = 34/24
-            long remainingHours = hours % 24; // 0.41
-            basePrice = vehicle.getDailyRate().multiply(BigDecimal.valueOf(days))
-                    .add(vehicle.getHourlyRate().multiply(BigDecimal.valueOf(remainingHours)));
-        }
+        BigDecimal basePrice = BookingPricing.basePrice(vehicle.getDailyRate(), vehicle.getHourlyRate(),
+                request.getStartTime(), request.getExpectedEndTime());
 
         BigDecimal depositAmount = vehicle.getDepositAmount();
         BigDecimal totalAmount = basePrice.add(depositAmount);
@@ -125,6 +196,8 @@ public class BookingService {
                 .build();
 
         Booking savedBooking = bookingRepository.save(booking);
+        reservationEngine.reserve(savedBooking);
+        metricsRollupService.recordBookingCreated(savedBooking);
         log.info("Booking created successfully with code: {}", bookingCode);
 
         Payment payment = Payment.builder()
@@ -133,45 +206,7 @@ public class BookingService {
                 .paymentMethod(PaymentMethod.MOMO)
                 .status(PaymentStatus.PENDING)
                 .build();
-        Payment savedPayment = paymentRepository.save(payment);
-
-        MoMoPaymentResponse moMoResponse = moMoService.createPayment(
-                savedBooking.getId(),
-                depositAmount,
-                "Thanh toan tien coc booking " + bookingCode,
-                true);
-
-        if (!"0".equals(moMoResponse.getResultCode())) {
-            log.error("MoMo create payment failed - resultCode: {}, message: {}",
-                    moMoResponse.getResultCode(), moMoResponse.getMessage());
-            throw new RuntimeException("Cannot create MoMo payment order");
-        }
-
-        savedPayment.setTransactionId(moMoResponse.getOrderId());
-        paymentRepository.save(savedPayment);
-
-        return BookingWithPaymentResponse.builder()
-                .id(savedBooking.getId())
-                .bookingCode(savedBooking.getBookingCode())
-                .renterId(renter.getId())
-                .renterName(renter.getFullName())
-                .renterEmail(renter.getEmail())
-                .vehicleId(vehicle.getId())
-                .vehicleName(vehicle.getName())
-                .licensePlate(vehicle.getLicensePlate())
-                .stationId(station.getId())
-                .stationName(station.getName())
-                .startTime(savedBooking.getStartTime())
-                .expectedEndTime(savedBooking.getExpectedEndTime())
-                .status(savedBooking.getStatus().toString())
-                .basePrice(savedBooking.getBasePrice())
-                .depositPaid(savedBooking.getDepositPaid())
-                .totalAmount(savedBooking.getTotalAmount())
-                .pickupNote(savedBooking.getPickupNote())
-                .paymentStatus(savedBooking.getPaymentStatus().toString())
-                .momoPayment(moMoResponse)
-                .createdAt(savedBooking.getCreatedAt())
-                .build();
+        return new PendingPayment(savedBooking, paymentRepository.save(payment));
     }
 
     @Transactional(readOnly = true)
@@ -193,18 +228,27 @@ public class BookingService {
     @Transactional(readOnly = true)
     public Page<BookingResponse> getAllBookings(Pageable pageable) {
         log.info("Fetching all bookings with pagination");
-        Page<Booking> bookings = bookingRepository.findAll(pageable);
+        Page<Booking> bookings = bookingRepository.findAllWithSummaryBy(pageable);
         return bookings.map(bookingMapper::toResponse);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageResponse<BookingResponse> getAllBookingsByCursor(String cursor, int size) {
+        log.info("Fetching bookings after cursor, size: {}", size);
+        PageCursor position = PageCursor.decode(cursor);
+        List<Booking> bookings = bookingRepository.findPageAfter(
+                position != null ? position.createdAt() : null,
+                position != null ? position.id() : null,
+                Limit.of(size + 1));
+        return CursorPageResponse.of(bookings, size, Booking::getCreatedAt, Booking::getId, bookingMapper::toResponse);
+    }
+
     @Transactional(readOnly = true)
     public List<BookingResponse> getMyBookings() {
         log.info("Fetching bookings for current user");
-        String email = getEmailFromAuthentication();
-        User renter = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
+        UUID renterId = principalResolver.currentUser().getId();
 
-        List<Booking> bookings = bookingRepository.findByRenterId(renter.getId());
+        List<Booking> bookings = bookingRepository.findWithSummaryByRenterId(renterId);
         return bookings.stream()
                 .map(bookingMapper::toResponse)
                 .collect(Collectors.toList());
@@ -213,7 +257,7 @@ public class BookingService {
     @Transactional(readOnly = true)
     public List<BookingResponse> getBookingsByStatus(BookingStatus status) {
         log.info("Fetching bookings with status: {}", status);
-        List<Booking> bookings = bookingRepository.findByStatus(status);
+        List<Booking> bookings = bookingRepository.findWithSummaryByStatus(status);
         return bookings.stream()
                 .map(bookingMapper::toResponse)
                 .collect(Collectors.toList());
@@ -225,7 +269,7 @@ public class BookingService {
         if (!vehicleRepository.existsById(vehicleId)) {
             throw new ResourceNotFoundException("Vehicle not found with ID: " + vehicleId);
         }
-        List<Booking> bookings = bookingRepository.findByVehicleId(vehicleId);
+        List<Booking> bookings = bookingRepository.findWithSummaryByVehicleId(vehicleId);
         return bookings.stream()
                 .map(bookingMapper::toResponse)
                 .collect(Collectors.toList());
@@ -237,14 +281,18 @@ public class BookingService {
         if (!stationRepository.existsById(stationId)) {
             throw new ResourceNotFoundException("Station not found with ID: " + stationId);
         }
-        List<Booking> bookings = bookingRepository.findByStationId(stationId);
+        List<Booking> bookings = bookingRepository.findWithSummaryByStationId(stationId);
         return bookings.stream()
                 .map(bookingMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
-    @Transactional
     public BookingResponse updateBooking(UUID bookingId, UpdateBookingRequest request) {
+        return optimisticLockRetry.inTransaction("Update booking " + bookingId,
+                () -> applyBookingUpdate(bookingId, request));
+    }
+
+    private BookingResponse applyBookingUpdate(UUID bookingId, UpdateBookingRequest request) {
         log.info("Updating booking: {}", bookingId);
 
         Booking booking = bookingRepository.findById(bookingId)
@@ -274,14 +322,25 @@ public class BookingService {
             booking.setReturnNote(request.getReturnNote());
         }
 
+        if (request.getStartTime() != null || request.getExpectedEndTime() != null || request.getStatus() != null) {
+            if (booking.getStatus() == BookingStatus.CANCELLED || booking.getStatus() == BookingStatus.COMPLETED) {
+                reservationEngine.release(booking);
+            } else {
+                reservationEngine.reserve(booking);
+            }
+        }
+
         Booking updatedBooking = bookingRepository.save(booking);
         log.info("Booking updated successfully: {}", bookingId);
 
         return bookingMapper.toResponse(updatedBooking);
     }
 
-    @Transactional
     public BookingResponse confirmBooking(UUID bookingId) {
+        return optimisticLockRetry.inTransaction("Confirm booking " + bookingId, () -> confirm(bookingId));
+    }
+
+    private BookingResponse confirm(UUID bookingId) {
         log.info("Confirming booking: {}", bookingId);
 
         Booking booking = bookingRepository.findById(bookingId)
@@ -298,8 +357,16 @@ public class BookingService {
         return bookingMapper.toResponse(confirmedBooking);
     }
 
-    @Transactional
+    /**
+     * Staff may confirm, start or cancel the same booking concurrently. Each transition runs with
+     * the booking's version check and is retried on conflict, so the loser re-validates against
+     * the winner's state instead of overwriting it.
+     */
     public BookingResponse startBooking(UUID bookingId) {
+        return optimisticLockRetry.inTransaction("Start booking " + bookingId, () -> start(bookingId));
+    }
+
+    private BookingResponse start(UUID bookingId) {
         log.info("Starting booking: {}", bookingId);
 
         Booking booking = bookingRepository.findById(bookingId)
@@ -309,9 +376,12 @@ public class BookingService {
             throw new IllegalStateException("Only confirmed bookings can be started");
         }
 
+        if (vehicleRepository.compareAndSetStatus(booking.getVehicle().getId(),
+                VehicleStatus.AVAILABLE, VehicleStatus.RENTED, LocalDateTime.now()) == 0) {
+            throw new IllegalStateException("Vehicle is not available to start this booking");
+        }
         booking.setStatus(BookingStatus.ONGOING);
-        booking.getVehicle().setStatus(VehicleStatus.RENTED);
-        vehicleRepository.save(booking.getVehicle());
+        publishVehicleChanged(booking);
 
         Booking startedBooking = bookingRepository.save(booking);
         log.info("Booking started successfully: {}", bookingId);
@@ -319,15 +389,50 @@ public class BookingService {
         return bookingMapper.toResponse(startedBooking);
     }
 
-    @Transactional
+    /**
+     * Completes the booking, records the PENDING remainder payment and enqueues its MoMo order in
+     * one short transaction, then makes the first gateway attempt after commit. A gateway failure
+     * leaves the order in the payment outbox, which keeps retrying it in the background.
+     */
     public BookingWithPaymentResponse completeBooking(UUID bookingId) {
         log.info("Completing booking: {}", bookingId);
 
-        String email = getEmailFromAuthentication();
-        User staff = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
+        RemainderOrder order = optimisticLockRetry.inTransaction("Complete booking " + bookingId,
+                () -> completeAndCreateRemainder(bookingId));
+        Booking completedBooking = order.booking();
 
-        Booking booking = bookingRepository.findById(bookingId)
+        MoMoPaymentResponse moMoResponse = paymentOutboxService.dispatch(order.outbox());
+
+        Vehicle vehicle = completedBooking.getVehicle();
+        return BookingWithPaymentResponse.builder()
+                .id(completedBooking.getId())
+                .bookingCode(completedBooking.getBookingCode())
+                .renterId(completedBooking.getRenter().getId())
+                .renterName(completedBooking.getRenter().getFullName())
+                .renterEmail(completedBooking.getRenter().getEmail())
+                .vehicleId(vehicle.getId())
+                .vehicleName(vehicle.getName())
+                .licensePlate(vehicle.getLicensePlate())
+                .stationId(completedBooking.getStation().getId())
+                .stationName(completedBooking.getStation().getName())
+                .startTime(completedBooking.getStartTime())
+                .expectedEndTime(completedBooking.getExpectedEndTime())
+                .status(completedBooking.getStatus().toString())
+                .basePrice(completedBooking.getBasePrice())
+                .depositPaid(completedBooking.getDepositPaid())
+                .totalAmount(completedBooking.getTotalAmount())
+                .pickupNote(completedBooking.getPickupNote())
+                .paymentStatus(completedBooking.getPaymentStatus().toString())
+                .momoPayment(moMoResponse)
+                .createdAt(completedBooking.getCreatedAt())
+                .build();
+    }
+
+    private RemainderOrder completeAndCreateRemainder(UUID bookingId) {
+        User staff = userRepository.getReferenceById(principalResolver.currentUser().getId());
+
+        // completeBooking builds its response from the associations after this transaction has closed
+        Booking booking = bookingRepository.findWithSummaryById(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found with ID: " + bookingId));
 
         if (booking.getStatus() != BookingStatus.ONGOING) {
@@ -335,17 +440,12 @@ public class BookingService {
         }
 
         LocalDateTime actualEndTime = LocalDateTime.now();
+        long lateHours = BookingPricing.lateHours(booking.getExpectedEndTime(), actualEndTime);
         BigDecimal lateFee = BigDecimal.ZERO;
-
-        if (actualEndTime.isAfter(booking.getExpectedEndTime())) {
-            long lateHours = Duration.between(booking.getExpectedEndTime(), actualEndTime).toHours();
-            if (lateHours > 0) {
-                Vehicle vehicle = booking.getVehicle();
-                lateFee = vehicle.getHourlyRate().multiply(BigDecimal.valueOf(lateHours))
-                        .multiply(BigDecimal.valueOf(1.5));
-                log.warn("Late return detected - booking: {}, late hours: {}, late fee: {}",
-                        booking.getBookingCode(), lateHours, lateFee);
-            }
+        if (lateHours > 0) {
+            lateFee = BookingPricing.lateFee(booking.getVehicle().getHourlyRate(), lateHours);
+            log.warn("Late return detected - booking: {}, late hours: {}, late fee: {}",
+                    booking.getBookingCode(), lateHours, lateFee);
         }
 
         BigDecimal remainingAmount = booking.getBasePrice();
@@ -371,61 +471,64 @@ public class BookingService {
                 .build();
         Payment savedRemainingPayment = paymentRepository.save(remainingPayment);
 
-        MoMoPaymentResponse moMoResponse = moMoService.createPayment(
-                booking.getId(),
-                remainingAmount,
-                "Thanh toan con lai booking " + booking.getBookingCode(),
-                false);
-
-        if ("0".equals(moMoResponse.getResultCode())) {
-            savedRemainingPayment.setTransactionId(moMoResponse.getOrderId());
-            paymentRepository.save(savedRemainingPayment);
-            log.info("MoMo payment for remaining amount created successfully - orderId: {}", moMoResponse.getOrderId());
-        } else {
-            savedRemainingPayment.setStatus(PaymentStatus.FAILED);
-            paymentRepository.save(savedRemainingPayment);
-            log.error("MoMo payment creation failed - resultCode: {}, message: {}",
-                    moMoResponse.getResultCode(), moMoResponse.getMessage());
-        }
-
         booking.setStatus(BookingStatus.COMPLETED);
         booking.setActualEndTime(actualEndTime);
         booking.setCheckedInBy(staff);
+        reservationEngine.release(booking);
 
-        Vehicle vehicle = booking.getVehicle();
-        vehicle.setStatus(VehicleStatus.AVAILABLE);
-        vehicle.setRentCount(vehicle.getRentCount() + 1);
-        vehicleRepository.save(vehicle);
+        UUID vehicleId = booking.getVehicle().getId();
+        vehicleRepository.compareAndSetStatus(vehicleId, VehicleStatus.RENTED, VehicleStatus.AVAILABLE, actualEndTime);
+        vehicleRepository.incrementRentCount(vehicleId, actualEndTime);
+        publishVehicleChanged(booking);
 
         Booking completedBooking = bookingRepository.save(booking);
+        metricsRollupService.recordBookingCompleted(completedBooking, lateFee);
         log.info("Booking completed successfully: {}, remaining payment created: {}", bookingId, remainingAmount);
 
-        return BookingWithPaymentResponse.builder()
-                .id(completedBooking.getId())
-                .bookingCode(completedBooking.getBookingCode())
-                .renterId(completedBooking.getRenter().getId())
-                .renterName(completedBooking.getRenter().getFullName())
-                .renterEmail(completedBooking.getRenter().getEmail())
-                .vehicleId(vehicle.getId())
-                .vehicleName(vehicle.getName())
-                .licensePlate(vehicle.getLicensePlate())
-                .stationId(completedBooking.getStation().getId())
-                .stationName(completedBooking.getStation().getName())
-                .startTime(completedBooking.getStartTime())
-                .expectedEndTime(completedBooking.getExpectedEndTime())
-                .status(completedBooking.getStatus().toString())
-                .basePrice(completedBooking.getBasePrice())
-                .depositPaid(completedBooking.getDepositPaid())
-                .totalAmount(completedBooking.getTotalAmount())
-                .pickupNote(completedBooking.getPickupNote())
-                .paymentStatus(completedBooking.getPaymentStatus().toString())
-                .momoPayment(moMoResponse)
-                .createdAt(completedBooking.getCreatedAt())
-                .build();
+        PaymentOutbox outbox = paymentOutboxService.enqueue(savedRemainingPayment,
+                "Thanh toan con lai booking " + completedBooking.getBookingCode(), false);
+        return new RemainderOrder(completedBooking, outbox);
+    }
+
+    /**
+     * Calls MoMo outside any transaction, then stores the gateway order id on the pending payment,
+     * or marks it FAILED. Returns {@code null} when the gateway could not be reached.
+     */
+    private MoMoPaymentResponse requestGatewayPayment(PendingPayment pending, String orderInfo, boolean isDeposit) {
+        Payment payment = pending.payment();
+        MoMoPaymentResponse moMoResponse = null;
+        try {
+            moMoResponse = moMoService.createPayment(pending.booking().getId(), payment.getAmount(), orderInfo, isDeposit);
+        } catch (RuntimeException e) {
+            log.error("MoMo create payment failed for booking {}: {}", pending.booking().getBookingCode(), e.getMessage());
+        }
+
+        boolean created = moMoResponse != null && "0".equals(moMoResponse.getResultCode());
+        if (created) {
+            payment.setTransactionId(moMoResponse.getOrderId());
+            log.info("MoMo payment created successfully - orderId: {}", moMoResponse.getOrderId());
+        } else {
+            payment.setStatus(PaymentStatus.FAILED);
+            if (moMoResponse != null) {
+                log.error("MoMo create payment failed - resultCode: {}, message: {}",
+                        moMoResponse.getResultCode(), moMoResponse.getMessage());
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> paymentRepository.save(payment));
+        return moMoResponse;
+    }
+
+    private record PendingPayment(Booking booking, Payment payment) {
+    }
+
+    private record RemainderOrder(Booking booking, PaymentOutbox outbox) {
     }
 
-    @Transactional
     public BookingResponse cancelBooking(UUID bookingId) {
+        return optimisticLockRetry.inTransaction("Cancel booking " + bookingId, () -> cancel(bookingId));
+    }
+
+    private BookingResponse cancel(UUID bookingId) {
         log.info("Cancelling booking: {}", bookingId);
 
         Booking booking = bookingRepository.findById(bookingId)
@@ -435,70 +538,118 @@ public class BookingService {
             throw new IllegalStateException("Completed bookings cannot be cancelled");
         }
 
+        boolean alreadyCancelled = booking.getStatus() == BookingStatus.CANCELLED;
         booking.setStatus(BookingStatus.CANCELLED);
+        reservationEngine.release(booking);
 
-        if (booking.getVehicle().getStatus() == VehicleStatus.RENTED) {
-            booking.getVehicle().setStatus(VehicleStatus.AVAILABLE);
-            vehicleRepository.save(booking.getVehicle());
-        }
+        releaseVehicle(booking);
 
         Booking cancelledBooking = bookingRepository.save(booking);
+        if (!alreadyCancelled) {
+            metricsRollupService.recordBookingCancelled(cancelledBooking);
+        }
         log.info("Booking cancelled successfully: {}", bookingId);
 
         return bookingMapper.toResponse(cancelledBooking);
     }
 
-    @Transactional
+    /**
+     * Cancels a PENDING booking whose deposit failed or was never paid. Its open deposit payment
+     * is failed and the vehicle window is freed once the caller's transaction commits. Bookings
+     * that have moved past PENDING are left alone.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void cancelUnpaidBooking(Booking booking, String reason) {
+        if (booking.getStatus() != BookingStatus.PENDING) {
+            return;
+        }
+        booking.setStatus(BookingStatus.CANCELLED);
+        reservationEngine.release(booking);
+        paymentRepository.findByBooking_IdAndStatus(booking.getId(), PaymentStatus.PENDING).ifPresent(payment -> {
+            payment.setStatus(PaymentStatus.FAILED);
+            paymentRepository.save(payment);
+        });
+
+        Booking cancelledBooking = bookingRepository.save(booking);
+        metricsRollupService.recordBookingCancelled(cancelledBooking);
+        log.info("Unpaid booking cancelled - booking: {}, reason: {}", booking.getBookingCode(), reason);
+    }
+
+    /**
+     * Cancels one batch of PENDING bookings whose deposit is still unpaid after
+     * {@code reservation.unpaid-expiry}, which is set past the MoMo order lifetime so a renter can
+     * no longer pay them. Returns the number of bookings cancelled.
+     */
+    public int expireUnpaidBookings() {
+        LocalDateTime createdBefore = LocalDateTime.now().minus(unpaidExpiry);
+        List<UUID> bookingIds = bookingRepository.findUnpaidPendingIds(createdBefore, Limit.of(unpaidExpiryBatchSize));
+
+        int expired = 0;
+        for (UUID bookingId : bookingIds) {
+            try {
+                optimisticLockRetry.inTransaction("Expire booking " + bookingId, () ->
+                        bookingRepository.findById(bookingId).ifPresent(booking ->
+                                cancelUnpaidBooking(booking, "deposit not paid within " + unpaidExpiry)));
+                expired++;
+            } catch (RuntimeException e) {
+                log.warn("Could not expire unpaid booking {}: {}", bookingId, e.getMessage());
+            }
+        }
+        if (expired > 0) {
+            log.info("Expired {} unpaid bookings", expired);
+        }
+        return expired;
+    }
+
     public void deleteBooking(UUID bookingId) {
-        log.info("Deleting booking: {}", bookingId);
+        optimisticLockRetry.inTransaction("Delete booking " + bookingId, () -> {
+            log.info("Deleting booking: {}", bookingId);
 
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new ResourceNotFoundException("Booking not found with ID: " + bookingId));
+            Booking booking = bookingRepository.findById(bookingId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Booking not found with ID: " + bookingId));
 
-        if (booking.getVehicle().getStatus() == VehicleStatus.RENTED) {
-            booking.getVehicle().setStatus(VehicleStatus.AVAILABLE);
-            vehicleRepository.save(booking.getVehicle());
+            releaseVehicle(booking);
+
+            bookingRepository.delete(booking);
+            reservationEngine.release(booking);
+            log.info("Booking deleted successfully: {}", bookingId);
+        });
+    }
+
+    // A no-op when the vehicle is not RENTED, e.g. when another transition already returned it
+    private void releaseVehicle(Booking booking) {
+        if (vehicleRepository.compareAndSetStatus(booking.getVehicle().getId(),
+                VehicleStatus.RENTED, VehicleStatus.AVAILABLE, LocalDateTime.now()) > 0) {
+            publishVehicleChanged(booking);
         }
+    }
 
-        bookingRepository.delete(booking);
-        log.info("Booking deleted successfully: {}", bookingId);
+    private void publishVehicleChanged(Booking booking) {
+        eventPublisher.publishEvent(new VehicleChangedEvent(booking.getVehicle().getId(), booking.getStation().getId()));
     }
 
     private String generateBookingCode() {
         return "BK" + System.currentTimeMillis() + UUID.randomUUID().toString().substring(0, 6).toUpperCase();
     }
 
-    private String getEmailFromAuthentication() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.getPrincipal() instanceof Jwt) {
-            Jwt jwt = (Jwt) authentication.getPrincipal();
-            String sub = jwt.getClaimAsString("sub");
-            if (sub != null) {
-                log.debug("Using sub claim as cognito_sub: {}", sub);
-                User user = userRepository.findByCognitoSub(sub).orElse(null);
-                if (user != null) {
-                    return user.getEmail();
-                }
-            }
-        }
-        return authentication != null ? authentication.getName() : null;
-    }
-
+    /**
+     * Records the renter's remainder payment and enqueues its MoMo order in one short transaction,
+     * then makes the first gateway attempt after commit, as {@link #completeBooking} does.
+     */
     public MoMoPaymentResponse payRemainder(UUID bookingId, BigDecimal extraFee) {
         log.info("Processing remainder payment for booking: {}", bookingId);
-        String email = getEmailFromAuthentication();
-        if (email == null || email.isBlank()) {
-            throw new IllegalStateException("Unauthenticated user");
-        }
+        UUID renterId = principalResolver.currentUser().getId();
 
-        User renter = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
+        PaymentOutbox outbox = transactionTemplate.execute(status -> enqueueRemainder(bookingId, renterId, extraFee));
+        return paymentOutboxService.dispatch(outbox);
+    }
 
-        Booking booking = bookingRepository.findById(bookingId)
+    private PaymentOutbox enqueueRemainder(UUID bookingId, UUID renterId, BigDecimal extraFee) {
+        Booking booking = bookingRepository.findWithSummaryById(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found with ID: " + bookingId));
 
         // Ensure the booking belongs to the current renter
-        if (!booking.getRenter().getId().equals(renter.getId())) {
+        if (!booking.getRenter().getId().equals(renterId)) {
             throw new IllegalStateException("You are not authorized to pay for this booking");
         }
 
@@ -534,26 +685,11 @@ public class BookingService {
                 .amount(totalCharge)
                 .paymentMethod(PaymentMethod.MOMO)
                 .status(PaymentStatus.PENDING)
-                .processedBy(renter.getId())
+                .processedBy(renterId)
                 .build();
         Payment savedPayment = paymentRepository.save(remainingPayment);
 
-        MoMoPaymentResponse moMoResponse = moMoService.createPayment(
-                booking.getId(),
-                totalCharge,
-                "Thanh toán phần còn lại booking " + booking.getBookingCode(),
-                false);
-
-        if ("0".equals(moMoResponse.getResultCode())) {
-            savedPayment.setTransactionId(moMoResponse.getOrderId());
-            paymentRepository.save(savedPayment);
-            log.info("MoMo remainder payment created successfully - orderId: {}", moMoResponse.getOrderId());
-        } else {
-            savedPayment.setStatus(PaymentStatus.FAILED);
-            paymentRepository.save(savedPayment);
-            log.error("MoMo remainder payment creation failed - resultCode: {}, message: {}",
-                    moMoResponse.getResultCode(), moMoResponse.getMessage());
-        }
-        return moMoResponse;
+        return paymentOutboxService.enqueue(savedPayment,
+                "Thanh toán phần còn lại booking " + booking.getBookingCode(), false);
     }
 }
@@ -0,0 +1,68 @@
+package com.project.evrental.service;
+
+import com.project.evrental.config.CacheNames;
+import com.project.evrental.domain.event.StationChangedEvent;
+import com.project.evrental.domain.event.VehicleChangedEvent;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+
+/**
+ * Evicts the catalog caches once a station or vehicle change has committed. Evicting before
+ * commit would let a concurrent read cache the old row again.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class CatalogCacheInvalidator {
+
+    CacheManager cacheManager;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStationChanged(StationChangedEvent event) {
+        evict(CacheNames.STATION_DETAIL, event.stationId());
+        clear(CacheNames.FEATURED_STATIONS);
+        clear(CacheNames.ACTIVE_STATIONS);
+    }
+
+    // Station details embed their available vehicles and counts
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVehicleChanged(VehicleChangedEvent event) {
+        evict(CacheNames.VEHICLE_DETAIL, event.vehicleId());
+        if (event.stationId() != null) {
+            evict(CacheNames.STATION_DETAIL, event.stationId());
+        }
+    }
+
+    private void evict(String cacheName, UUID key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        try {
+            cache.evict(key);
+        } catch (RuntimeException e) {
+            log.warn("Failed to evict {} from cache {}: {}", key, cacheName, e.getMessage());
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        try {
+            cache.clear();
+        } catch (RuntimeException e) {
+            log.warn("Failed to clear cache {}: {}", cacheName, e.getMessage());
+        }
+    }
+}
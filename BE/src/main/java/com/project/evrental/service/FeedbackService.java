@@ -1,6 +1,8 @@
 package com.project.evrental.service;
 
 import com.project.evrental.domain.common.BookingStatus;
+import com.project.evrental.domain.common.PageCursor;
+import com.project.evrental.domain.dto.ResolvedUser;
 import com.project.evrental.domain.dto.request.CreateFeedbackRequest;
 import com.project.evrental.domain.dto.request.RespondFeedbackRequest;
 import com.project.evrental.domain.dto.request.UpdateFeedbackRequest;
@@ -13,16 +15,17 @@ import com.project.evrental.mapper.FeedbackMapper;
 import com.project.evrental.repository.BookingRepository;
 import com.project.evrental.repository.FeedbackRepository;
 import com.project.evrental.repository.UserRepository;
+import com.project.evrental.service.auth.PrincipalResolver;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -40,6 +43,7 @@ public class FeedbackService {
     FeedbackRepository feedbackRepository;
     BookingRepository bookingRepository;
     UserRepository userRepository;
+    PrincipalResolver principalResolver;
 
     private static final int EDIT_ALLOWED_DAYS = 7;
 
@@ -49,9 +53,7 @@ public class FeedbackService {
     public FeedbackResponse createFeedback(CreateFeedbackRequest request) {
         log.info("Creating feedback for booking: {}", request.getBookingId());
 
-        String sub = getCognitoSubFromAuthentication();
-        User renter = userRepository.findByCognitoSub(sub)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with cognito sub: " + sub));
+        ResolvedUser renter = principalResolver.currentUser();
 
         // Validate booking
         Booking booking = bookingRepository.findById(request.getBookingId())
@@ -74,7 +76,7 @@ public class FeedbackService {
 
         Feedback feedback = Feedback.builder()
                 .booking(booking)
-                .renter(renter)
+                .renter(userRepository.getReferenceById(renter.getId()))
                 .vehicleRating(request.getVehicleRating())
                 .stationRating(request.getStationRating())
                 .comment(request.getComment())
@@ -94,9 +96,7 @@ public class FeedbackService {
         Feedback feedback = feedbackRepository.findById(feedbackId)
                 .orElseThrow(() -> new ResourceNotFoundException("Feedback not found with ID: " + feedbackId));
 
-        String sub = getCognitoSubFromAuthentication();
-        User currentUser = userRepository.findByCognitoSub(sub)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with cognito sub: " + sub));
+        ResolvedUser currentUser = principalResolver.currentUser();
 
         // Check if user has permission to view this feedback
         if (!feedback.getRenter().getId().equals(currentUser.getId()) &&
@@ -119,9 +119,7 @@ public class FeedbackService {
         Feedback feedback = feedbackRepository.findByBookingId(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Feedback not found for booking: " + bookingId));
 
-        String sub = getCognitoSubFromAuthentication();
-        User currentUser = userRepository.findByCognitoSub(sub)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with cognito sub: " + sub));
+        ResolvedUser currentUser = principalResolver.currentUser();
 
         // Check permission
         if (!feedback.getRenter().getId().equals(currentUser.getId()) &&
@@ -141,9 +139,7 @@ public class FeedbackService {
     public FeedbackResponse updateFeedback(UUID feedbackId, UpdateFeedbackRequest request) {
         log.info("Updating feedback with ID: {}", feedbackId);
 
-        String sub = getCognitoSubFromAuthentication();
-        User renter = userRepository.findByCognitoSub(sub)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with cognito sub: " + sub));
+        ResolvedUser renter = principalResolver.currentUser();
 
         Feedback feedback = feedbackRepository.findById(feedbackId)
                 .orElseThrow(() -> new ResourceNotFoundException("Feedback not found with ID: " + feedbackId));
@@ -188,15 +184,29 @@ public class FeedbackService {
     public Page<FeedbackResponse> getMyFeedbacks(Pageable pageable) {
         log.info("Fetching all feedbacks for current renter");
 
-        String sub = getCognitoSubFromAuthentication();
-        User renter = userRepository.findByCognitoSub(sub)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with cognito sub: " + sub));
+        ResolvedUser renter = principalResolver.currentUser();
 
         Page<Feedback> feedbacks = feedbackRepository.findByRenterIdOrderByCreatedAtDesc(renter.getId(), pageable);
 
         return feedbacks.map(FeedbackMapper::toResponse);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageResponse<FeedbackResponse> getMyFeedbacksByCursor(String cursor, int size) {
+        log.info("Fetching feedbacks for current renter after cursor");
+
+        ResolvedUser renter = principalResolver.currentUser();
+
+        PageCursor position = PageCursor.decode(cursor);
+        List<Feedback> feedbacks = feedbackRepository.findByRenterIdPageAfter(
+                renter.getId(),
+                position != null ? position.createdAt() : null,
+                position != null ? position.id() : null,
+                Limit.of(size + 1));
+
+        return toCursorPage(feedbacks, size);
+    }
+
     // ==================== ADMIN/STAFF USE CASES ====================
 
     @Transactional(readOnly = true)
@@ -219,13 +229,36 @@ public class FeedbackService {
         return feedbacks.map(FeedbackMapper::toResponse);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageResponse<FeedbackResponse> getAllFeedbacksWithFiltersByCursor(
+            UUID stationId,
+            UUID vehicleId,
+            UUID renterId,
+            LocalDateTime fromDate,
+            LocalDateTime toDate,
+            Double minRating,
+            Double maxRating,
+            String cursor,
+            int size) {
+        log.info("Fetching feedbacks with filters after cursor");
+
+        PageCursor position = PageCursor.decode(cursor);
+        List<Feedback> feedbacks = feedbackRepository.findByFiltersPageAfter(
+                stationId, vehicleId, renterId,
+                fromDate, toDate, minRating, maxRating,
+                position != null ? position.createdAt() : null,
+                position != null ? position.id() : null,
+                size + 1
+        );
+
+        return toCursorPage(feedbacks, size);
+    }
+
     @Transactional
     public FeedbackResponse respondToFeedback(UUID feedbackId, RespondFeedbackRequest request) {
         log.info("Responding to feedback with ID: {}", feedbackId);
 
-        String sub = getCognitoSubFromAuthentication();
-        User staff = userRepository.findByCognitoSub(sub)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with cognito sub: " + sub));
+        ResolvedUser staff = principalResolver.currentUser();
 
         Feedback feedback = feedbackRepository.findById(feedbackId)
                 .orElseThrow(() -> new ResourceNotFoundException("Feedback not found with ID: " + feedbackId));
@@ -244,9 +277,7 @@ public class FeedbackService {
     public FeedbackResponse updateResponse(UUID feedbackId, RespondFeedbackRequest request) {
         log.info("Updating response for feedback with ID: {}", feedbackId);
 
-        String sub = getCognitoSubFromAuthentication();
-        User staff = userRepository.findByCognitoSub(sub)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with cognito sub: " + sub));
+        ResolvedUser staff = principalResolver.currentUser();
 
         Feedback feedback = feedbackRepository.findById(feedbackId)
                 .orElseThrow(() -> new ResourceNotFoundException("Feedback not found with ID: " + feedbackId));
@@ -379,6 +410,36 @@ public class FeedbackService {
         return feedbacks.map(FeedbackMapper::toResponse);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageResponse<FeedbackResponse> getPublicVehicleFeedbacksByCursor(UUID vehicleId, String cursor, int size) {
+        log.info("Fetching public feedbacks for vehicle {} after cursor", vehicleId);
+
+        PageCursor position = PageCursor.decode(cursor);
+        List<Feedback> feedbacks = feedbackRepository.findByVehicleIdPageAfter(
+                vehicleId,
+                position != null ? position.createdAt() : null,
+                position != null ? position.id() : null,
+                Limit.of(size + 1));
+        return toCursorPage(feedbacks, size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponse<FeedbackResponse> getPublicStationFeedbacksByCursor(UUID stationId, String cursor, int size) {
+        log.info("Fetching public feedbacks for station {} after cursor", stationId);
+
+        PageCursor position = PageCursor.decode(cursor);
+        List<Feedback> feedbacks = feedbackRepository.findByStationIdPageAfter(
+                stationId,
+                position != null ? position.createdAt() : null,
+                position != null ? position.id() : null,
+                Limit.of(size + 1));
+        return toCursorPage(feedbacks, size);
+    }
+
+    private CursorPageResponse<FeedbackResponse> toCursorPage(List<Feedback> feedbacks, int size) {
+        return CursorPageResponse.of(feedbacks, size, Feedback::getCreatedAt, Feedback::getId, FeedbackMapper::toResponse);
+    }
+
     // ==================== STATISTICS ====================
 
     @Transactional(readOnly = true)
@@ -449,22 +510,6 @@ public class FeedbackService {
 
     // ==================== HELPER METHODS ====================
 
-    private String getEmailFromAuthentication() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.getPrincipal() instanceof Jwt jwt) {
-            return jwt.getClaim("email");
-        }
-        throw new IllegalStateException("User is not authenticated");
-    }
-
-    private String getCognitoSubFromAuthentication() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.getPrincipal() instanceof Jwt jwt) {
-            return jwt.getClaim("sub");
-        }
-        throw new IllegalStateException("User is not authenticated");
-    }
-
     private boolean hasAdminOrStaffRole() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication != null) {
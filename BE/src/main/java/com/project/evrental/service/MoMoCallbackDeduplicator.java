@@ -0,0 +1,82 @@
+package com.project.evrental.service;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Redis-backed idempotency keys for MoMo IPN callbacks, keyed by {@code orderId} and {@code transId}.
+ * A key is claimed as PROCESSING before the payment is touched and flipped to DONE after commit,
+ * so retried callbacks are answered with one Redis round trip. When Redis is unreachable the
+ * callback falls through to the database, whose unique constraints are the backstop.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class MoMoCallbackDeduplicator {
+
+    private static final String PROCESSING = "PROCESSING";
+    private static final String DONE = "DONE";
+
+    RedisTemplate<String, Object> redis;
+
+    @NonFinal
+    @Value("${momo.ipn.key-prefix:momo:ipn:}")
+    String keyPrefix;
+
+    @NonFinal
+    @Value("${momo.ipn.processing-ttl:PT30S}")
+    Duration processingTtl;
+
+    @NonFinal
+    @Value("${momo.ipn.done-ttl:P3D}")
+    Duration doneTtl;
+
+    public enum Claim {
+        ACQUIRED, DUPLICATE, IN_FLIGHT, UNAVAILABLE
+    }
+
+    public Claim claim(String orderId, Long transId) {
+        String key = key(orderId, transId);
+        try {
+            if (Boolean.TRUE.equals(redis.opsForValue().setIfAbsent(key, PROCESSING, processingTtl))) {
+                return Claim.ACQUIRED;
+            }
+            return DONE.equals(redis.opsForValue().get(key)) ? Claim.DUPLICATE : Claim.IN_FLIGHT;
+        } catch (DataAccessException e) {
+            log.warn("Redis unavailable for MoMo callback dedup, falling back to database - orderId: {}: {}",
+                    orderId, e.getMessage());
+            return Claim.UNAVAILABLE;
+        }
+    }
+
+    public void markDone(String orderId, Long transId) {
+        try {
+            redis.opsForValue().set(key(orderId, transId), DONE, doneTtl);
+        } catch (DataAccessException e) {
+            log.warn("Could not mark MoMo callback as processed - orderId: {}: {}", orderId, e.getMessage());
+        }
+    }
+
+    // Lets MoMo's next retry reprocess a callback that failed
+    public void release(String orderId, Long transId) {
+        try {
+            redis.delete(key(orderId, transId));
+        } catch (DataAccessException e) {
+            log.warn("Could not release MoMo callback key - orderId: {}: {}", orderId, e.getMessage());
+        }
+    }
+
+    private String key(String orderId, Long transId) {
+        return keyPrefix + orderId + ":" + transId;
+    }
+}
@@ -4,19 +4,24 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.project.evrental.config.MoMoConfig;
 import com.project.evrental.domain.dto.request.MoMoCallbackRequest;
 import com.project.evrental.domain.dto.response.MoMoPaymentResponse;
+import com.project.evrental.domain.dto.response.MoMoQueryResponse;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
 import java.math.BigDecimal;
-import java.nio.charset.StandardCharsets;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Slf4j
 @Service
@@ -26,10 +31,41 @@ public class MoMoService {
 
     MoMoConfig moMoConfig;
     ObjectMapper objectMapper;
+    HttpClient moMoHttpClient;
+    MoMoSigner moMoSigner;
+
+    /** Result code MoMo returns when an order with the same orderId already exists. */
+    public static final String DUPLICATE_ORDER_CODE = "41";
 
     public MoMoPaymentResponse createPayment(UUID bookingId, BigDecimal amount, String orderInfo, boolean isDeposit) {
+        return createPayment(UUID.randomUUID().toString(), bookingId, amount, orderInfo, isDeposit);
+    }
+
+    public MoMoPaymentResponse createPayment(
+            String orderId, UUID bookingId, BigDecimal amount, String orderInfo, boolean isDeposit) {
+        return awaitPayment(createPaymentAsync(orderId, bookingId, amount, orderInfo, isDeposit));
+    }
+
+    // Blocks for a pending create-payment call, rethrowing its failure unwrapped
+    public MoMoPaymentResponse awaitPayment(CompletableFuture<MoMoPaymentResponse> pendingPayment) {
+        try {
+            return pendingPayment.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException runtimeException
+                    ? runtimeException
+                    : new RuntimeException("Failed to create MoMo payment", e.getCause());
+        }
+    }
+
+    /**
+     * Sends the create-payment request for {@code orderId} without blocking the caller; the future
+     * completes with the gateway response or exceptionally with a {@link RuntimeException}.
+     * Resending the same orderId never opens a second order: MoMo answers {@link #DUPLICATE_ORDER_CODE}.
+     */
+    public CompletableFuture<MoMoPaymentResponse> createPaymentAsync(
+            String orderId, UUID bookingId, BigDecimal amount, String orderInfo, boolean isDeposit) {
+        HttpRequest request;
         try {
-            String orderId = UUID.randomUUID().toString();
             String requestId = UUID.randomUUID().toString();
             long amountLong = amount.longValue();
 
@@ -45,7 +81,7 @@ public class MoMoService {
                     "&requestId=" + requestId +
                     "&requestType=captureWallet";
 
-            String signature = generateHmacSHA256(rawSignature, moMoConfig.getSecretKey());
+            String signature = moMoSigner.sign(rawSignature);
 
             Map<String, Object> requestBody = new HashMap<>();
             requestBody.put("partnerCode", moMoConfig.getPartnerCode());
@@ -65,25 +101,79 @@ public class MoMoService {
             String requestBodyJson = objectMapper.writeValueAsString(requestBody);
             log.info("MoMo payment request created for booking: {}, orderId: {}", bookingId, orderId);
 
-            java.net.http.HttpClient client = java.net.http.HttpClient.newHttpClient();
-            java.net.http.HttpRequest request = java.net.http.HttpRequest.newBuilder()
-                    .uri(java.net.URI.create(moMoConfig.getEndpoint()))
+            request = HttpRequest.newBuilder()
+                    .uri(URI.create(moMoConfig.getEndpoint()))
+                    .timeout(moMoConfig.getRequestTimeout())
                     .header("Content-Type", "application/json")
-                    .POST(java.net.http.HttpRequest.BodyPublishers.ofString(requestBodyJson))
+                    .POST(HttpRequest.BodyPublishers.ofString(requestBodyJson))
                     .build();
+        } catch (Exception e) {
+            log.error("Error creating MoMo payment: {}", e.getMessage(), e);
+            return CompletableFuture.failedFuture(new RuntimeException("Failed to create MoMo payment", e));
+        }
+
+        return moMoHttpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    try {
+                        MoMoPaymentResponse moMoResponse = objectMapper.readValue(response.body(), MoMoPaymentResponse.class);
+                        log.info("MoMo payment response received - resultCode: {}, orderId: {}",
+                                moMoResponse.getResultCode(), moMoResponse.getOrderId());
+                        return moMoResponse;
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                })
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    log.error("Error creating MoMo payment: {}", cause.getMessage(), cause);
+                    throw new RuntimeException("Failed to create MoMo payment", cause);
+                });
+    }
 
-            java.net.http.HttpResponse<String> response = client.send(request,
-                    java.net.http.HttpResponse.BodyHandlers.ofString());
+    /**
+     * Asks the gateway for the current state of an order, used to reconcile payments whose IPN
+     * never arrived. Completes exceptionally with a {@link RuntimeException} on transport errors.
+     */
+    public CompletableFuture<MoMoQueryResponse> queryPaymentAsync(String orderId) {
+        HttpRequest request;
+        try {
+            String requestId = UUID.randomUUID().toString();
+            String rawSignature = "accessKey=" + moMoConfig.getAccessKey() +
+                    "&orderId=" + orderId +
+                    "&partnerCode=" + moMoConfig.getPartnerCode() +
+                    "&requestId=" + requestId;
 
-            MoMoPaymentResponse moMoResponse = objectMapper.readValue(response.body(), MoMoPaymentResponse.class);
-            log.info("MoMo payment response received - resultCode: {}, orderId: {}", 
-                    moMoResponse.getResultCode(), moMoResponse.getOrderId());
+            Map<String, Object> requestBody = new HashMap<>();
+            requestBody.put("partnerCode", moMoConfig.getPartnerCode());
+            requestBody.put("requestId", requestId);
+            requestBody.put("orderId", orderId);
+            requestBody.put("lang", "vi");
+            requestBody.put("signature", moMoSigner.sign(rawSignature));
 
-            return moMoResponse;
+            request = HttpRequest.newBuilder()
+                    .uri(URI.create(moMoConfig.getQueryEndpoint()))
+                    .timeout(moMoConfig.getRequestTimeout())
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(requestBody)))
+                    .build();
         } catch (Exception e) {
-            log.error("Error creating MoMo payment: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to create MoMo payment", e);
+            log.error("Error querying MoMo payment {}: {}", orderId, e.getMessage(), e);
+            return CompletableFuture.failedFuture(new RuntimeException("Failed to query MoMo payment", e));
         }
+
+        return moMoHttpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    try {
+                        return objectMapper.readValue(response.body(), MoMoQueryResponse.class);
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                })
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    log.error("Error querying MoMo payment {}: {}", orderId, cause.getMessage());
+                    throw new RuntimeException("Failed to query MoMo payment", cause);
+                });
     }
 
     public boolean verifySignature(MoMoCallbackRequest callback) {
@@ -104,8 +194,7 @@ public class MoMoService {
                     "&resultCode=" + callback.getResultCode() +
                     "&transId=" + callback.getTransId();
 
-            String signature = generateHmacSHA256(rawSignature, moMoConfig.getSecretKey());
-            boolean isValid = signature.equals(callback.getSignature());
+            boolean isValid = moMoSigner.matches(rawSignature, callback.getSignature());
             
             log.info("MoMo callback signature verification - orderId: {}, valid: {}", 
                     callback.getOrderId(), isValid);
@@ -116,26 +205,4 @@ public class MoMoService {
             return false;
         }
     }
-
-    private String generateHmacSHA256(String data, String secretKey) {
-        try {
-            Mac hmacSHA256 = Mac.getInstance("HmacSHA256");
-            SecretKeySpec secretKeySpec = new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
-            hmacSHA256.init(secretKeySpec);
-            byte[] hash = hmacSHA256.doFinal(data.getBytes(StandardCharsets.UTF_8));
-            
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : hash) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) {
-                    hexString.append('0');
-                }
-                hexString.append(hex);
-            }
-            return hexString.toString();
-        } catch (Exception e) {
-            log.error("Error generating HMAC SHA256: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to generate signature", e);
-        }
-    }
 }
@@ -0,0 +1,60 @@
+package com.project.evrental.service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+
+/**
+ * HMAC-SHA256 signer for MoMo requests and IPN callbacks.
+ * Each thread keeps its own {@link Mac} initialised with the partner secret, so signing skips
+ * provider lookup and key setup; {@link Mac#doFinal} resets it for the next call.
+ */
+public class MoMoSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private final ThreadLocal<Mac> mac;
+
+    public MoMoSigner(String secretKey) {
+        SecretKeySpec keySpec = new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        // Fail at startup rather than on the first payment if the key or provider is unusable
+        newMac(keySpec);
+        this.mac = ThreadLocal.withInitial(() -> newMac(keySpec));
+    }
+
+    public String sign(String data) {
+        return toHex(mac.get().doFinal(data.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /** Compares in constant time so response timing does not leak how much of a forged signature matched. */
+    public boolean matches(String data, String signature) {
+        if (signature == null) {
+            return false;
+        }
+        byte[] expected = sign(data).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static Mac newMac(SecretKeySpec keySpec) {
+        try {
+            Mac instance = Mac.getInstance(ALGORITHM);
+            instance.init(keySpec);
+            return instance;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to initialise " + ALGORITHM + " signer", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        byte[] hex = new byte[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int v = bytes[i] & 0xff;
+            hex[i * 2] = HEX_DIGITS[v >>> 4];
+            hex[i * 2 + 1] = HEX_DIGITS[v & 0x0f];
+        }
+        return new String(hex, StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,74 @@
+package com.project.evrental.service;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a unit of work in its own transaction and re-runs it after an optimistic-lock or
+ * compare-and-set conflict. Every attempt re-reads its entities, so validations see the winning
+ * update; concurrent staff actions are resolved without holding row locks.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class OptimisticLockRetry {
+
+    TransactionTemplate transactionTemplate;
+
+    @NonFinal
+    @Value("${concurrency.optimistic-retry.max-attempts:3}")
+    int maxAttempts;
+
+    @NonFinal
+    @Value("${concurrency.optimistic-retry.backoff:PT0.02S}")
+    Duration backoff;
+
+    public <T> T inTransaction(String operation, Supplier<T> work) {
+        // Inside an outer transaction a retry would reuse the same stale persistence context
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return work.get();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    log.warn("{} still conflicting after {} attempts", operation, attempt);
+                    throw e;
+                }
+                log.info("{} hit a concurrent update, retrying (attempt {})", operation, attempt + 1);
+                pause(attempt);
+            }
+        }
+    }
+
+    public void inTransaction(String operation, Runnable work) {
+        inTransaction(operation, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    private void pause(int attempt) {
+        long millis = backoff.toMillis() * attempt;
+        try {
+            Thread.sleep(millis + ThreadLocalRandom.current().nextLong(millis + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.project.evrental.service;
+
+import com.project.evrental.domain.common.OutboxStatus;
+import com.project.evrental.domain.common.PaymentStatus;
+import com.project.evrental.domain.dto.response.MoMoPaymentResponse;
+import com.project.evrental.domain.entity.Payment;
+import com.project.evrental.domain.entity.PaymentOutbox;
+import com.project.evrental.repository.PaymentOutboxRepository;
+import com.project.evrental.repository.PaymentRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates MoMo payment orders from the {@code payment_outbox} table.
+ * Entries are enqueued in the caller's transaction, dispatched once right after commit, and
+ * otherwise retried in batches by {@code PaymentOutboxScheduled} with exponential backoff.
+ * Entries that exhaust their attempts are marked DEAD and their payment FAILED.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class PaymentOutboxService {
+
+    PaymentOutboxRepository paymentOutboxRepository;
+    PaymentRepository paymentRepository;
+    MoMoService moMoService;
+    TransactionTemplate transactionTemplate;
+    MeterRegistry meterRegistry;
+
+    AtomicLong queueDepth = new AtomicLong();
+    AtomicLong deadCount = new AtomicLong();
+    AtomicLong lagSeconds = new AtomicLong();
+
+    @NonFinal
+    @Value("${payment.outbox.batch-size:20}")
+    int batchSize;
+
+    @NonFinal
+    @Value("${payment.outbox.max-attempts:8}")
+    int maxAttempts;
+
+    @NonFinal
+    @Value("${payment.outbox.backoff-base:PT5S}")
+    Duration backoffBase;
+
+    @NonFinal
+    @Value("${payment.outbox.backoff-max:PT10M}")
+    Duration backoffMax;
+
+    @NonFinal
+    @Value("${payment.outbox.lease:PT1M}")
+    Duration lease;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("payment.outbox.depth", queueDepth, AtomicLong::get)
+                .description("Payment orders waiting to be created at the gateway")
+                .register(meterRegistry);
+        Gauge.builder("payment.outbox.dead", deadCount, AtomicLong::get)
+                .description("Payment orders that exhausted their retries")
+                .register(meterRegistry);
+        Gauge.builder("payment.outbox.lag", lagSeconds, AtomicLong::get)
+                .description("Age of the oldest pending payment order")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a payment order in the caller's transaction. The MoMo orderId is chosen here and
+     * stored on the payment before any attempt, so an IPN for the order always finds its payment
+     * and retries resend the same order instead of opening new ones. The entry is leased to the
+     * caller so the worker leaves it alone while {@link #dispatch} runs after commit.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public PaymentOutbox enqueue(Payment payment, String orderInfo, boolean isDeposit) {
+        String orderId = UUID.randomUUID().toString();
+        payment.setTransactionId(orderId);
+        paymentRepository.save(payment);
+
+        PaymentOutbox entry = PaymentOutbox.builder()
+                .paymentId(payment.getId())
+                .orderId(orderId)
+                .bookingId(payment.getBooking().getId())
+                .amount(payment.getAmount())
+                .orderInfo(orderInfo)
+                .deposit(isDeposit)
+                .status(OutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now().plus(lease))
+                .build();
+        return paymentOutboxRepository.save(entry);
+    }
+
+    /**
+     * Makes a single attempt for a freshly enqueued entry. Must be called outside a transaction;
+     * returns the gateway response, or {@code null} when the gateway could not be reached.
+     */
+    public MoMoPaymentResponse dispatch(PaymentOutbox entry) {
+        MoMoPaymentResponse response = null;
+        RuntimeException failure = null;
+        try {
+            response = moMoService.createPayment(entry.getOrderId(), entry.getBookingId(), entry.getAmount(),
+                    entry.getOrderInfo(), entry.getDeposit());
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        recordOutcome(entry, response, failure);
+        return response;
+    }
+
+    /**
+     * Drains due entries batch by batch. Stops after a short batch or as soon as a batch sees a
+     * gateway failure, so a throttling gateway is retried on the backoff schedule instead of hammered.
+     */
+    public void drain() {
+        boolean more = true;
+        while (more) {
+            more = drainBatch();
+        }
+        refreshMetrics();
+    }
+
+    private boolean drainBatch() {
+        List<PaymentOutbox> claimed = transactionTemplate.execute(status -> claimDueEntries());
+        if (claimed == null || claimed.isEmpty()) {
+            return false;
+        }
+
+        // Send the whole batch concurrently over the pooled client, then record each outcome
+        Map<PaymentOutbox, CompletableFuture<MoMoPaymentResponse>> inFlight = new LinkedHashMap<>();
+        for (PaymentOutbox entry : claimed) {
+            inFlight.put(entry, moMoService.createPaymentAsync(entry.getOrderId(), entry.getBookingId(),
+                    entry.getAmount(), entry.getOrderInfo(), entry.getDeposit()));
+        }
+
+        int failures = 0;
+        for (Map.Entry<PaymentOutbox, CompletableFuture<MoMoPaymentResponse>> pending : inFlight.entrySet()) {
+            MoMoPaymentResponse response = null;
+            RuntimeException failure = null;
+            try {
+                response = moMoService.awaitPayment(pending.getValue());
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+            if (!recordOutcome(pending.getKey(), response, failure)) {
+                failures++;
+            }
+        }
+        log.info("Payment outbox batch processed - claimed: {}, failed: {}", claimed.size(), failures);
+        return claimed.size() == batchSize && failures == 0;
+    }
+
+    private List<PaymentOutbox> claimDueEntries() {
+        LocalDateTime now = LocalDateTime.now();
+        List<PaymentOutbox> due = paymentOutboxRepository.findDueForUpdate(now, batchSize);
+        due.forEach(entry -> entry.setNextAttemptAt(now.plus(lease)));
+        return paymentOutboxRepository.saveAll(due);
+    }
+
+    private boolean recordOutcome(PaymentOutbox entry, MoMoPaymentResponse response, RuntimeException failure) {
+        // A duplicate means an earlier attempt created the order and only its response was lost
+        boolean created = response != null && ("0".equals(response.getResultCode())
+                || MoMoService.DUPLICATE_ORDER_CODE.equals(response.getResultCode()));
+        int attempts = entry.getAttempts() + 1;
+        entry.setAttempts(attempts);
+
+        String outcome;
+        if (created) {
+            outcome = "sent";
+            entry.setStatus(OutboxStatus.SENT);
+            entry.setSentAt(LocalDateTime.now());
+            entry.setLastError(null);
+            log.info("MoMo payment order created - orderId: {}, resultCode: {}, attempts: {}",
+                    entry.getOrderId(), response.getResultCode(), attempts);
+        } else {
+            String error = failure != null
+                    ? failure.getMessage()
+                    : response != null ? response.getResultCode() + ": " + response.getMessage() : "Empty gateway response";
+            entry.setLastError(error);
+            if (attempts >= maxAttempts) {
+                outcome = "dead";
+                entry.setStatus(OutboxStatus.DEAD);
+                log.error("MoMo payment order abandoned after {} attempts - payment: {}, error: {}",
+                        attempts, entry.getPaymentId(), error);
+            } else {
+                outcome = "retry";
+                entry.setNextAttemptAt(LocalDateTime.now().plus(backoff(attempts)));
+                log.warn("MoMo payment order failed, retry scheduled - payment: {}, attempt: {}, next: {}, error: {}",
+                        entry.getPaymentId(), attempts, entry.getNextAttemptAt(), error);
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            paymentOutboxRepository.save(entry);
+            if (entry.getStatus() == OutboxStatus.DEAD) {
+                paymentRepository.findById(entry.getPaymentId()).ifPresent(payment -> {
+                    payment.setStatus(PaymentStatus.FAILED);
+                    paymentRepository.save(payment);
+                });
+            }
+        });
+        meterRegistry.counter("payment.outbox.attempts", "outcome", outcome).increment();
+        return created;
+    }
+
+    // base * 2^(attempts - 1), capped, with up to 20% jitter so throttled orders do not retry in lockstep
+    private Duration backoff(int attempts) {
+        long baseMillis = backoffBase.toMillis();
+        long delayMillis = Math.min(backoffMax.toMillis(), baseMillis << Math.min(attempts - 1, 20));
+        return Duration.ofMillis(delayMillis + ThreadLocalRandom.current().nextLong(delayMillis / 5 + 1));
+    }
+
+    private void refreshMetrics() {
+        queueDepth.set(paymentOutboxRepository.countByStatus(OutboxStatus.PENDING));
+        deadCount.set(paymentOutboxRepository.countByStatus(OutboxStatus.DEAD));
+        LocalDateTime oldest = paymentOutboxRepository.findOldestCreatedAtByStatus(OutboxStatus.PENDING);
+        lagSeconds.set(oldest != null ? Math.max(0, Duration.between(oldest, LocalDateTime.now()).toSeconds()) : 0);
+    }
+}
@@ -2,22 +2,35 @@
 
 import com.project.evrental.domain.common.PaymentStatus;
 import com.project.evrental.domain.dto.request.MoMoCallbackRequest;
+import com.project.evrental.domain.dto.response.MoMoQueryResponse;
 import com.project.evrental.domain.dto.response.PaymentResponse;
 import com.project.evrental.domain.entity.Booking;
 import com.project.evrental.domain.entity.Payment;
+import com.project.evrental.exception.custom.CallbackInFlightException;
 import com.project.evrental.exception.custom.ResourceNotFoundException;
 import com.project.evrental.repository.BookingRepository;
 import com.project.evrental.repository.PaymentRepository;
+import com.project.evrental.service.admin.MetricsRollupService;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -29,23 +42,131 @@ public class PaymentService {
     PaymentRepository paymentRepository;
     BookingRepository bookingRepository;
     MoMoService moMoService;
+    BookingService bookingService;
+    MetricsRollupService metricsRollupService;
+    MoMoCallbackDeduplicator callbackDeduplicator;
+    TransactionTemplate transactionTemplate;
 
-    @Transactional
+    // Query-API result codes for orders that are still waiting on the renter
+    private static final Set<String> GATEWAY_PENDING_CODES = Set.of("1000", "7000", "7002");
+    // The payment outbox may still be creating the order; it fails the payment itself if it gives up
+    private static final String ORDER_NOT_FOUND_CODE = "42";
+
+    @NonFinal
+    @Value("${momo.reconcile.batch-size:100}")
+    int reconcileBatchSize;
+
+    @NonFinal
+    @Value("${momo.reconcile.min-age:PT15M}")
+    Duration reconcileMinAge;
+
+    /**
+     * Applies a MoMo IPN. Retried deliveries are acknowledged from Redis without touching JPA;
+     * a duplicate that slips past Redis is stopped by the PENDING guard and the unique transId.
+     */
     public void processMoMoCallback(MoMoCallbackRequest callback) {
-        System.out.println("Received MoMo callback: ");
-        log.info("Processing MoMo callback - orderId: {}, resultCode: {}, extraData: {}", 
+        log.info("Processing MoMo callback - orderId: {}, resultCode: {}, extraData: {}",
                 callback.getOrderId(), callback.getResultCode(), callback.getExtraData());
 
         if (!moMoService.verifySignature(callback)) {
             log.error("Invalid MoMo callback signature - orderId: {}", callback.getOrderId());
             throw new RuntimeException("Invalid signature");
         }
-        
+
         boolean isDeposit = "true".equalsIgnoreCase(callback.getExtraData());
-        Payment payment = paymentRepository.findByTransactionId(callback.getOrderId())
-                .orElseThrow(() -> new ResourceNotFoundException("Payment not found with transaction ID: " + callback.getOrderId()));
+        settleOnce(callback.getOrderId(), callback.getTransId(), callback.getResultCode(),
+                callback.getMessage(), isDeposit);
+    }
+
+    /**
+     * Settles PENDING payments whose IPN never arrived by asking the gateway for their status.
+     * Payments are read in keyset batches, each batch is queried concurrently, and results go
+     * through the same idempotent path as callbacks. Returns the number of payments settled.
+     */
+    public int reconcilePendingPayments() {
+        LocalDateTime createdBefore = LocalDateTime.now().minus(reconcileMinAge);
+        LocalDateTime cursorCreatedAt = null;
+        UUID cursorId = null;
+        int settled = 0;
+
+        List<PaymentRepository.PendingGatewayPayment> batch;
+        do {
+            batch = paymentRepository.findPendingGatewayPaymentsAfter(
+                    createdBefore, cursorCreatedAt, cursorId, Limit.of(reconcileBatchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            Map<String, CompletableFuture<MoMoQueryResponse>> queries = new LinkedHashMap<>();
+            batch.forEach(pending -> queries.put(pending.getTransactionId(),
+                    moMoService.queryPaymentAsync(pending.getTransactionId())));
+
+            for (Map.Entry<String, CompletableFuture<MoMoQueryResponse>> query : queries.entrySet()) {
+                try {
+                    MoMoQueryResponse status = query.getValue().join();
+                    if (GATEWAY_PENDING_CODES.contains(status.getResultCode())
+                            || ORDER_NOT_FOUND_CODE.equals(status.getResultCode())) {
+                        continue;
+                    }
+                    settleOnce(query.getKey(), status.getTransId(), status.getResultCode(), status.getMessage(),
+                            "true".equalsIgnoreCase(status.getExtraData()));
+                    settled++;
+                } catch (CallbackInFlightException e) {
+                    log.info("MoMo payment is being settled by its callback - orderId: {}", query.getKey());
+                } catch (RuntimeException e) {
+                    log.warn("Could not reconcile MoMo payment - orderId: {}: {}", query.getKey(), e.getMessage());
+                }
+            }
+
+            PaymentRepository.PendingGatewayPayment last = batch.get(batch.size() - 1);
+            cursorCreatedAt = last.getCreatedAt();
+            cursorId = last.getId();
+        } while (batch.size() == reconcileBatchSize);
+
+        log.info("MoMo payment reconciliation finished - settled: {}", settled);
+        return settled;
+    }
 
-        if ("0".equals(callback.getResultCode())) {
+    private void settleOnce(String orderId, Long transId, String resultCode, String message, boolean isDeposit) {
+        MoMoCallbackDeduplicator.Claim claim = callbackDeduplicator.claim(orderId, transId);
+        if (claim == MoMoCallbackDeduplicator.Claim.DUPLICATE) {
+            log.info("Duplicate MoMo callback acknowledged - orderId: {}, transId: {}", orderId, transId);
+            return;
+        }
+        if (claim == MoMoCallbackDeduplicator.Claim.IN_FLIGHT) {
+            throw new CallbackInFlightException("MoMo callback is already being processed for order: " + orderId);
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    applyGatewayResult(orderId, transId, resultCode, message, isDeposit));
+        } catch (DataIntegrityViolationException e) {
+            log.info("MoMo transaction already applied - orderId: {}, transId: {}", orderId, transId);
+        } catch (RuntimeException e) {
+            if (claim == MoMoCallbackDeduplicator.Claim.ACQUIRED) {
+                callbackDeduplicator.release(orderId, transId);
+            }
+            throw e;
+        }
+        callbackDeduplicator.markDone(orderId, transId);
+    }
+
+    private void applyGatewayResult(String orderId, Long transId, String resultCode, String message, boolean isDeposit) {
+        Payment payment = paymentRepository.findByTransactionId(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Payment not found with transaction ID: " + orderId));
+
+        if (payment.getStatus() != PaymentStatus.PENDING) {
+            if (payment.getStatus() == PaymentStatus.FAILED && "0".equals(resultCode)) {
+                // Paid after the booking was expired or cancelled; needs a manual refund
+                log.error("Payment collected for a failed payment - orderId: {}, transId: {}, booking: {}",
+                        orderId, transId, payment.getBooking().getBookingCode());
+            } else {
+                log.info("Payment already settled - orderId: {}, status: {}", orderId, payment.getStatus());
+            }
+            return;
+        }
+
+        if ("0".equals(resultCode)) {
             Booking booking = payment.getBooking();
             if(isDeposit) {
                 payment.setStatus(PaymentStatus.PARTIALLY_PAID);
@@ -63,17 +184,24 @@ public class PaymentService {
                 log.info("Remaining payment successful - booking: {}, amount: {}", 
                         booking.getBookingCode(), payment.getAmount());
             }
+            payment.setGatewayTransId(transId);
 
             bookingRepository.save(booking);
+            metricsRollupService.recordPaymentCollected(payment);
             log.info("Payment successful - orderId: {}, transId: {}, isDeposit: {}", 
-                    callback.getOrderId(), callback.getTransId(), isDeposit);
+                    orderId, transId, isDeposit);
         } else {
             payment.setStatus(PaymentStatus.FAILED);
             log.warn("Payment failed - orderId: {}, resultCode: {}, message: {}", 
-                    callback.getOrderId(), callback.getResultCode(), callback.getMessage());
+                    orderId, resultCode, message);
+            if (isDeposit) {
+                // Without a deposit the booking must not keep holding the vehicle's window
+                bookingService.cancelUnpaidBooking(payment.getBooking(), "deposit failed with result " + resultCode);
+            }
         }
 
-        paymentRepository.save(payment);
+        // Flush here so a unique transId violation surfaces inside the transaction template
+        paymentRepository.saveAndFlush(payment);
     }
 
     @Transactional(readOnly = true)
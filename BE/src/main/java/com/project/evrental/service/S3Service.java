@@ -13,7 +13,12 @@ import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 @Slf4j
 @Service
@@ -22,6 +27,7 @@ import java.util.UUID;
 public class S3Service {
 
     final S3Client s3Client;
+    final Executor integrationExecutor;
 
     @Value("${aws.s3.bucket-name}")
     String bucketName;
@@ -65,6 +71,34 @@ public class S3Service {
         }
     }
 
+    /** Uploads the files concurrently on the integration executor; URLs keep the input order. */
+    public String[] uploadFiles(MultipartFile[] files, String folder) {
+        List<CompletableFuture<String>> uploads = Arrays.stream(files)
+                .map(file -> CompletableFuture.supplyAsync(() -> uploadFile(file, folder), integrationExecutor))
+                .toList();
+        return await(uploads).toArray(String[]::new);
+    }
+
+    /** Deletes the files concurrently on the integration executor. */
+    public void deleteFiles(String[] fileUrls) {
+        await(Arrays.stream(fileUrls)
+                .map(fileUrl -> CompletableFuture.supplyAsync(() -> {
+                    deleteFile(fileUrl);
+                    return fileUrl;
+                }, integrationExecutor))
+                .toList());
+    }
+
+    private static <T> List<T> await(List<CompletableFuture<T>> transfers) {
+        try {
+            return transfers.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException runtimeException
+                    ? runtimeException
+                    : new RuntimeException("S3 transfer failed", e.getCause());
+        }
+    }
+
     private String generateFileName(String originalFileName, String folder) {
         String extension = "";
         if (originalFileName != null && originalFileName.contains(".")) {
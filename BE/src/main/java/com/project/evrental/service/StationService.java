@@ -1,5 +1,6 @@
 package com.project.evrental.service;
 
+import com.project.evrental.config.CacheNames;
 import com.project.evrental.domain.common.StationStatus;
 import com.project.evrental.domain.dto.request.CreateStationRequest;
 import com.project.evrental.domain.dto.request.UpdateStationRequest;
@@ -8,6 +9,7 @@ import com.project.evrental.domain.dto.response.StationResponse;
 import com.project.evrental.domain.dto.response.VehicleResponse;
 import com.project.evrental.domain.entity.Station;
 import com.project.evrental.domain.entity.Vehicle;
+import com.project.evrental.domain.event.StationChangedEvent;
 import com.project.evrental.exception.custom.ResourceNotFoundException;
 import com.project.evrental.mapper.StationMapper;
 import com.project.evrental.mapper.VehicleMapper;
@@ -21,11 +23,14 @@ import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.geom.PrecisionModel;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -41,6 +46,7 @@ public class StationService {
     StationMapper stationMapper;
     VehicleMapper vehicleMapper;
     S3Service s3Service;
+    ApplicationEventPublisher eventPublisher;
     GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
 
     @Transactional
@@ -70,6 +76,7 @@ public class StationService {
                 .build();
 
         Station savedStation = stationRepository.save(station);
+        eventPublisher.publishEvent(new StationChangedEvent(savedStation.getId()));
         log.info("Station created with ID: {}", savedStation.getId());
         return stationMapper.toResponse(savedStation);
     }
@@ -115,10 +122,12 @@ public class StationService {
         }
 
         Station updatedStation = stationRepository.save(station);
+        eventPublisher.publishEvent(new StationChangedEvent(updatedStation.getId()));
         log.info("Station updated successfully with ID: {}", stationId);
         return stationMapper.toResponse(updatedStation);
     }
 
+    @Cacheable(cacheNames = CacheNames.STATION_DETAIL, key = "#stationId")
     @Transactional(readOnly = true)
     public StationDetailResponse getStationDetailById(UUID stationId) {
         log.info("Fetching station detail with ID: {}", stationId);
@@ -135,10 +144,9 @@ public class StationService {
                 .map(x -> VehicleMapper.toResponse(x))
                 .collect(Collectors.toList());
 
-        StationDetailResponse response = stationMapper.toDetailResponse(station, totalVehicles, availableVehicles);
-        response.setVehicles(vehicleResponses);
-
-        return response;
+        return stationMapper.toDetailResponse(station, totalVehicles, availableVehicles).toBuilder()
+                .vehicles(vehicleResponses)
+                .build();
     }
 
     @Transactional(readOnly = true)
@@ -148,6 +156,8 @@ public class StationService {
         return stations.map(stationMapper::toResponse);
     }
 
+    // Cached lists are unmodifiable and shared; List.of-style lists would not survive the Redis serializer
+    @Cacheable(cacheNames = CacheNames.ACTIVE_STATIONS, key = "'all'")
     @Transactional(readOnly = true)
     public List<StationResponse> getActiveStations() {
         log.info("Fetching all active stations");
@@ -155,7 +165,7 @@ public class StationService {
         return stations.stream()
                 .filter(station -> station.getStatus() == StationStatus.ACTIVE)
                 .map(stationMapper::toResponse)
-                .collect(Collectors.toList());
+                .collect(Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList));
     }
 
     @Transactional
@@ -169,6 +179,7 @@ public class StationService {
         }
 
         stationRepository.delete(station);
+        eventPublisher.publishEvent(new StationChangedEvent(stationId));
         log.info("Station deleted successfully with ID: {}", stationId);
     }
 
@@ -180,6 +191,7 @@ public class StationService {
 
         station.setStatus(status);
         Station updatedStation = stationRepository.save(station);
+        eventPublisher.publishEvent(new StationChangedEvent(updatedStation.getId()));
         log.info("Station status changed successfully for ID: {}", stationId);
         return stationMapper.toResponse(updatedStation);
     }
@@ -217,10 +229,12 @@ public class StationService {
         station.setPhoto(photoUrl);
 
         Station updatedStation = stationRepository.save(station);
+        eventPublisher.publishEvent(new StationChangedEvent(updatedStation.getId()));
         log.info("Station photo uploaded successfully for ID: {}", stationId);
         return stationMapper.toResponse(updatedStation);
     }
 
+    @Cacheable(cacheNames = CacheNames.FEATURED_STATIONS, key = "#limit")
     @Transactional(readOnly = true)
     public List<StationResponse> getFeaturedStations(int limit) {
         log.info("Fetching {} featured stations", limit);
@@ -228,6 +242,6 @@ public class StationService {
         List<Station> stations = stationRepository.findFeaturedStations(pageable);
         return stations.stream()
                 .map(stationMapper::toResponse)
-                .collect(Collectors.toList());
+                .collect(Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList));
     }
 }
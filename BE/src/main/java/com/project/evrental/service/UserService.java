@@ -1,10 +1,13 @@
 package com.project.evrental.service;
 
 import com.project.evrental.domain.common.BookingStatus;
+import com.project.evrental.domain.common.PageCursor;
 import com.project.evrental.domain.common.UserRole;
 import com.project.evrental.domain.dto.request.UpdateUserRequest;
+import com.project.evrental.domain.dto.response.CursorPageResponse;
 import com.project.evrental.domain.dto.response.UserResponse;
 import com.project.evrental.domain.entity.User;
+import com.project.evrental.domain.event.UserChangedEvent;
 import com.project.evrental.exception.custom.ResourceNotFoundException;
 import com.project.evrental.mapper.UserMapper;
 import com.project.evrental.repository.BookingRepository;
@@ -17,6 +20,8 @@ import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -35,6 +40,7 @@ public class UserService {
     UserRepository userRepository;
     StationRepository stationRepository;
     S3Service s3Service;
+    ApplicationEventPublisher eventPublisher;
     BookingRepository bookingRepository;
 
     public List<UserResponse> getAllUsers() {
@@ -134,6 +140,7 @@ public class UserService {
         }
 
         userRepository.delete(loadedUser);
+        eventPublisher.publishEvent(new UserChangedEvent(loadedUser.getCognitoSub()));
     }
 
     public Page<UserResponse> getAllUsersPaged(Pageable pageable) {
@@ -141,6 +148,16 @@ public class UserService {
         return userRepository.findAll(pageable).map(UserMapper::fromEntity);
     }
 
+    public CursorPageResponse<UserResponse> getAllUsersByCursor(String cursor, int size) {
+        log.info("Fetching users after cursor, size: {}", size);
+        PageCursor position = PageCursor.decode(cursor);
+        List<User> users = userRepository.findPageAfter(
+                position != null ? position.createdAt() : null,
+                position != null ? position.id() : null,
+                Limit.of(size + 1));
+        return CursorPageResponse.of(users, size, User::getCreatedAt, User::getId, UserMapper::fromEntity);
+    }
+
     @Transactional
     public UserResponse updateUser(UUID id, UpdateUserRequest request) {
         log.info("Updating user: {}", id);
@@ -166,6 +183,7 @@ public class UserService {
             stationRepository.findById(request.getStationId())
                     .orElseThrow(() -> new ResourceNotFoundException("Station not found with id: " + request.getStationId()));
             user.setStationId(request.getStationId());
+            eventPublisher.publishEvent(new UserChangedEvent(user.getCognitoSub()));
         }
 
         return UserMapper.fromEntity(userRepository.save(user));
@@ -178,6 +196,7 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
 
         user.setRole(role);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getCognitoSub()));
         return UserMapper.fromEntity(userRepository.save(user));
     }
 
@@ -309,6 +328,7 @@ public class UserService {
 
         staff.setStationId(stationId);
         userRepository.save(staff);
+        eventPublisher.publishEvent(new UserChangedEvent(staff.getCognitoSub()));
     }
 
 }
@@ -1,22 +1,32 @@
 package com.project.evrental.service;
 
+import com.project.evrental.config.CacheNames;
+import com.project.evrental.domain.common.PageCursor;
 import com.project.evrental.domain.common.VehicleStatus;
 import com.project.evrental.domain.dto.request.CreateVehicleRequest;
 import com.project.evrental.domain.dto.request.UpdateVehicleRequest;
+import com.project.evrental.domain.dto.response.CursorPageResponse;
 import com.project.evrental.domain.dto.response.VehicleDetailResponse;
 import com.project.evrental.domain.dto.response.VehicleResponse;
 import com.project.evrental.domain.entity.Station;
 import com.project.evrental.domain.entity.Vehicle;
+import com.project.evrental.domain.event.VehicleChangedEvent;
 import com.project.evrental.exception.custom.ResourceNotFoundException;
 import com.project.evrental.mapper.VehicleMapper;
 import com.project.evrental.repository.StationRepository;
 import com.project.evrental.repository.VehicleRepository;
+import com.project.evrental.service.counter.CounterService;
+import com.project.evrental.service.reservation.ReservationEngine;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -34,6 +44,10 @@ public class VehicleService {
     VehicleRepository vehicleRepository;
     StationRepository stationRepository;
     S3Service s3Service;
+    ReservationEngine reservationEngine;
+    OptimisticLockRetry optimisticLockRetry;
+    CounterService counterService;
+    ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public VehicleResponse createVehicle(CreateVehicleRequest request) {
@@ -60,6 +74,7 @@ public class VehicleService {
                 .build();
 
         Vehicle savedVehicle = vehicleRepository.save(vehicle);
+        eventPublisher.publishEvent(new VehicleChangedEvent(savedVehicle.getId(), station.getId()));
         log.info("Vehicle created with ID: {}", savedVehicle.getId());
         return VehicleMapper.toResponse(savedVehicle);
     }
@@ -71,6 +86,7 @@ public class VehicleService {
         Vehicle vehicle = vehicleRepository.findById(vehicleId)
                 .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with ID: " + vehicleId));
 
+        UUID previousStationId = vehicle.getStation().getId();
         if (request.getStationId() != null) {
             Station station = stationRepository.findById(request.getStationId())
                     .orElseThrow(() -> new ResourceNotFoundException("Station not found with ID: " + request.getStationId()));
@@ -115,10 +131,15 @@ public class VehicleService {
         }
 
         Vehicle updatedVehicle = vehicleRepository.save(vehicle);
+        eventPublisher.publishEvent(new VehicleChangedEvent(vehicleId, updatedVehicle.getStation().getId()));
+        if (!previousStationId.equals(updatedVehicle.getStation().getId())) {
+            eventPublisher.publishEvent(new VehicleChangedEvent(vehicleId, previousStationId));
+        }
         log.info("Vehicle updated successfully with ID: {}", vehicleId);
         return VehicleMapper.toResponse(updatedVehicle);
     }
 
+    @Cacheable(cacheNames = CacheNames.VEHICLE_DETAIL, key = "#vehicleId")
     @Transactional(readOnly = true)
     public VehicleDetailResponse getVehicleDetailById(UUID vehicleId) {
         log.info("Fetching vehicle detail with ID: {}", vehicleId);
@@ -138,7 +159,7 @@ public class VehicleService {
                 .fuelType(vehicle.getFuelType() != null ? vehicle.getFuelType().toString() : null)
                 .rating(vehicle.getRating() != null ? java.math.BigDecimal.valueOf(vehicle.getRating()) : null)
                 .capacity(vehicle.getCapacity())
-                .rentCount(vehicle.getRentCount())
+                .rentCount(counterService.withPending(CounterService.Counter.VEHICLE_RENTS, vehicleId, vehicle.getRentCount()))
                 .photos(vehicle.getPhotos())
                 .status(vehicle.getStatus() != null ? vehicle.getStatus().toString() : null)
                 .hourlyRate(vehicle.getHourlyRate())
@@ -157,6 +178,17 @@ public class VehicleService {
         return vehicles.map(VehicleMapper::toResponse);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageResponse<VehicleResponse> getAllVehiclesByCursor(String cursor, int size) {
+        log.info("Fetching vehicles after cursor, size: {}", size);
+        PageCursor position = PageCursor.decode(cursor);
+        List<Vehicle> vehicles = vehicleRepository.findPageAfter(
+                position != null ? position.createdAt() : null,
+                position != null ? position.id() : null,
+                Limit.of(size + 1));
+        return CursorPageResponse.of(vehicles, size, Vehicle::getCreatedAt, Vehicle::getId, VehicleMapper::toResponse);
+    }
+
     @Transactional(readOnly = true)
     public List<VehicleResponse> getVehiclesByStationId(UUID stationId) {
         log.info("Fetching vehicles for station ID: {}", stationId);
@@ -190,10 +222,12 @@ public class VehicleService {
             LocalDateTime endTime
     ) {
         log.info("Fetching truly available vehicles for station: {} between {} and {}", stationId, startTime, endTime);
-        List<Vehicle> vehicles = vehicleRepository.findTrulyAvailableVehicles(
-                stationId, fuelType, startTime, endTime
+        List<Vehicle> vehicles = vehicleRepository.findByStationIdsAndFuelTypeAndBrand(
+                List.of(stationId), fuelType, null
         );
+        reservationEngine.preload(vehicles.stream().map(Vehicle::getId).toList());
         return vehicles.stream()
+                .filter(vehicle -> reservationEngine.isFree(vehicle.getId(), startTime, endTime))
                 .map(VehicleMapper::toResponse)
                 .collect(Collectors.toList());
     }
@@ -225,37 +259,49 @@ public class VehicleService {
                 .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with ID: " + vehicleId));
 
         if (vehicle.getPhotos() != null && vehicle.getPhotos().length > 0) {
-            for (String photoUrl : vehicle.getPhotos()) {
-                s3Service.deleteFile(photoUrl);
-            }
+            s3Service.deleteFiles(vehicle.getPhotos());
         }
 
         vehicleRepository.delete(vehicle);
+        eventPublisher.publishEvent(new VehicleChangedEvent(vehicleId, vehicle.getStation().getId()));
         log.info("Vehicle deleted successfully with ID: {}", vehicleId);
     }
 
-    @Transactional
+    /**
+     * Sets the status with a compare-and-set against the status just read, so a concurrent booking
+     * transition is never silently overwritten; a lost race is retried against the new status.
+     */
     public VehicleResponse changeVehicleStatus(UUID vehicleId, VehicleStatus status) {
-        log.info("Changing vehicle status to {} for ID: {}", status, vehicleId);
-        Vehicle vehicle = vehicleRepository.findById(vehicleId)
-                .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with ID: " + vehicleId));
-
-        vehicle.setStatus(status);
-        Vehicle updatedVehicle = vehicleRepository.save(vehicle);
-        log.info("Vehicle status changed successfully for ID: {}", vehicleId);
-        return VehicleMapper.toResponse(updatedVehicle);
+        return optimisticLockRetry.inTransaction("Change status of vehicle " + vehicleId, () -> {
+            log.info("Changing vehicle status to {} for ID: {}", status, vehicleId);
+            VehicleStatus current = vehicleRepository.findStatusById(vehicleId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with ID: " + vehicleId));
+
+            if (current != status
+                    && vehicleRepository.compareAndSetStatus(vehicleId, current, status, LocalDateTime.now()) == 0) {
+                throw new ObjectOptimisticLockingFailureException(Vehicle.class, vehicleId);
+            }
+            Vehicle vehicle = findVehicle(vehicleId);
+            eventPublisher.publishEvent(new VehicleChangedEvent(vehicleId, vehicle.getStation().getId()));
+            log.info("Vehicle status changed successfully for ID: {}", vehicleId);
+            return VehicleMapper.toResponse(vehicle);
+        });
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public VehicleResponse incrementRentCount(UUID vehicleId) {
         log.info("Incrementing rent count for vehicle ID: {}", vehicleId);
-        Vehicle vehicle = vehicleRepository.findById(vehicleId)
-                .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with ID: " + vehicleId));
+        Vehicle vehicle = findVehicle(vehicleId);
 
-        vehicle.setRentCount(vehicle.getRentCount() + 1);
-        Vehicle updatedVehicle = vehicleRepository.save(vehicle);
-        log.info("Rent count incremented for vehicle ID: {}", vehicleId);
-        return VehicleMapper.toResponse(updatedVehicle);
+        counterService.increment(CounterService.Counter.VEHICLE_RENTS, vehicleId);
+        return VehicleMapper.toResponse(vehicle).toBuilder()
+                .rentCount(counterService.withPending(CounterService.Counter.VEHICLE_RENTS, vehicleId, vehicle.getRentCount()))
+                .build();
+    }
+
+    private Vehicle findVehicle(UUID vehicleId) {
+        return vehicleRepository.findById(vehicleId)
+                .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with ID: " + vehicleId));
     }
 
     @Transactional
@@ -265,18 +311,14 @@ public class VehicleService {
                 .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with ID: " + vehicleId));
 
         if (vehicle.getPhotos() != null && vehicle.getPhotos().length > 0) {
-            for (String photoUrl : vehicle.getPhotos()) {
-                s3Service.deleteFile(photoUrl);
-            }
+            s3Service.deleteFiles(vehicle.getPhotos());
         }
 
-        String[] photoUrls = new String[files.length];
-        for (int i = 0; i < files.length; i++) {
-            photoUrls[i] = s3Service.uploadFile(files[i], "assets/vehicles");
-        }
+        String[] photoUrls = s3Service.uploadFiles(files, "assets/vehicles");
 
         vehicle.setPhotos(photoUrls);
         Vehicle updatedVehicle = vehicleRepository.save(vehicle);
+        eventPublisher.publishEvent(new VehicleChangedEvent(vehicleId, updatedVehicle.getStation().getId()));
         log.info("Vehicle photos uploaded successfully for ID: {}", vehicleId);
         return VehicleMapper.toResponse(updatedVehicle);
     }
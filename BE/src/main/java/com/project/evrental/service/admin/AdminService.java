@@ -1,6 +1,8 @@
 package com.project.evrental.service.admin;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.project.evrental.domain.common.BookingStatus;
+import com.project.evrental.domain.common.ExportFormat;
 import com.project.evrental.domain.common.FuelType;
 import com.project.evrental.domain.common.UserRole;
 import com.project.evrental.domain.common.VehicleStatus;
@@ -9,23 +11,39 @@ import com.project.evrental.domain.dto.response.admin.*;
 import com.project.evrental.domain.entity.Booking;
 import com.project.evrental.domain.entity.User;
 import com.project.evrental.domain.entity.Vehicle;
+import com.project.evrental.domain.event.UserChangedEvent;
 import com.project.evrental.mapper.UserMapper;
 import com.project.evrental.mapper.VehicleMapper;
 import com.project.evrental.repository.BookingRepository;
+import com.project.evrental.repository.DailyStationMetricRepository;
 import com.project.evrental.repository.PaymentRepository;
 import com.project.evrental.repository.UserRepository;
 import com.project.evrental.repository.VehicleRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -35,8 +53,46 @@ public class AdminService {
     private final VehicleRepository vehicleRepository;
     private final BookingRepository bookingRepository;
     private final PaymentRepository paymentRepository;
+    private final DailyStationMetricRepository dailyStationMetricRepository;
     private final UserMapper userMapper;
     private final VehicleMapper vehicleMapper;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final int EXPORT_FLUSH_INTERVAL = 500;
+
+    private static final Map<String, Function<BookingResponse, Object>> EXPORT_CSV_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        EXPORT_CSV_COLUMNS.put("id", BookingResponse::getId);
+        EXPORT_CSV_COLUMNS.put("bookingCode", BookingResponse::getBookingCode);
+        EXPORT_CSV_COLUMNS.put("renterId", BookingResponse::getRenterId);
+        EXPORT_CSV_COLUMNS.put("renterName", BookingResponse::getRenterName);
+        EXPORT_CSV_COLUMNS.put("renterEmail", BookingResponse::getRenterEmail);
+        EXPORT_CSV_COLUMNS.put("vehicleId", BookingResponse::getVehicleId);
+        EXPORT_CSV_COLUMNS.put("vehicleName", BookingResponse::getVehicleName);
+        EXPORT_CSV_COLUMNS.put("licensePlate", BookingResponse::getLicensePlate);
+        EXPORT_CSV_COLUMNS.put("stationId", BookingResponse::getStationId);
+        EXPORT_CSV_COLUMNS.put("stationName", BookingResponse::getStationName);
+        EXPORT_CSV_COLUMNS.put("startTime", BookingResponse::getStartTime);
+        EXPORT_CSV_COLUMNS.put("expectedEndTime", BookingResponse::getExpectedEndTime);
+        EXPORT_CSV_COLUMNS.put("actualEndTime", BookingResponse::getActualEndTime);
+        EXPORT_CSV_COLUMNS.put("status", BookingResponse::getStatus);
+        EXPORT_CSV_COLUMNS.put("checkedOutById", BookingResponse::getCheckedOutById);
+        EXPORT_CSV_COLUMNS.put("checkedOutByName", BookingResponse::getCheckedOutByName);
+        EXPORT_CSV_COLUMNS.put("checkedInById", BookingResponse::getCheckedInById);
+        EXPORT_CSV_COLUMNS.put("checkedInByName", BookingResponse::getCheckedInByName);
+        EXPORT_CSV_COLUMNS.put("basePrice", BookingResponse::getBasePrice);
+        EXPORT_CSV_COLUMNS.put("depositPaid", BookingResponse::getDepositPaid);
+        EXPORT_CSV_COLUMNS.put("extraFee", BookingResponse::getExtraFee);
+        EXPORT_CSV_COLUMNS.put("totalAmount", BookingResponse::getTotalAmount);
+        EXPORT_CSV_COLUMNS.put("paymentStatus", BookingResponse::getPaymentStatus);
+        EXPORT_CSV_COLUMNS.put("pickupNote", BookingResponse::getPickupNote);
+        EXPORT_CSV_COLUMNS.put("returnNote", BookingResponse::getReturnNote);
+        EXPORT_CSV_COLUMNS.put("createdAt", BookingResponse::getCreatedAt);
+        EXPORT_CSV_COLUMNS.put("updatedAt", BookingResponse::getUpdatedAt);
+    }
 
     // ==================== Dashboard Summary ====================
     public AdminDashboardSummaryResponse getDashboardSummary() {
@@ -92,16 +148,16 @@ public class AdminService {
 
     private BookingReportAdminDashboardSummary getBookingReport() {
         long countAll = bookingRepository.count();
-        long countToday = bookingRepository.countBookingsToday();
 
-        LocalDateTime now = LocalDateTime.now();
-        int currentYear = now.getYear();
-        int currentMonth = now.getMonthValue();
-        long countThisMonth = bookingRepository.countBookingsByYearAndMonth(currentYear, currentMonth);
+        LocalDate today = LocalDate.now();
+        long countToday = dailyStationMetricRepository.sumBetween(today, today.plusDays(1)).getBookingsCreated();
 
-        int lastMonthValue = currentMonth == 1 ? 12 : currentMonth - 1;
-        int lastMonthYear = currentMonth == 1 ? currentYear - 1 : currentYear;
-        long countLastMonth = bookingRepository.countBookingsByYearAndMonth(lastMonthYear, lastMonthValue);
+        YearMonth thisMonth = YearMonth.now();
+        YearMonth lastMonth = thisMonth.minusMonths(1);
+        Map<YearMonth, DailyStationMetricRepository.MonthlyMetricProjection> monthly =
+                getMonthlyMetricBuckets(lastMonth, thisMonth);
+        long countThisMonth = bookingsCreatedOf(monthly.get(thisMonth));
+        long countLastMonth = bookingsCreatedOf(monthly.get(lastMonth));
 
         double radiation = countLastMonth > 0
                 ? ((double) (countThisMonth - countLastMonth) / countLastMonth) * 100
@@ -116,33 +172,17 @@ public class AdminService {
     }
 
     private RevenueReportAdminDashboardSummary getRevenueReport() {
-        List<Booking> completedBookings = bookingRepository.findByStatus(BookingStatus.COMPLETED);
-
-        BigDecimal totalRevenue = completedBookings.stream()
-                .map(Booking::getTotalAmount)
-                .filter(Objects::nonNull)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal totalRevenue = dailyStationMetricRepository.sumAll().getRevenue();
 
         LocalDate today = LocalDate.now();
-        BigDecimal totalToday = completedBookings.stream()
-                .filter(b -> b.getActualEndTime() != null && b.getActualEndTime().toLocalDate().equals(today))
-                .map(Booking::getTotalAmount)
-                .filter(Objects::nonNull)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal totalToday = dailyStationMetricRepository.sumBetween(today, today.plusDays(1)).getRevenue();
 
         YearMonth thisMonth = YearMonth.now();
-        BigDecimal totalThisMonth = completedBookings.stream()
-                .filter(b -> b.getActualEndTime() != null && YearMonth.from(b.getActualEndTime()).equals(thisMonth))
-                .map(Booking::getTotalAmount)
-                .filter(Objects::nonNull)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
         YearMonth lastMonth = thisMonth.minusMonths(1);
-        BigDecimal totalLastMonth = completedBookings.stream()
-                .filter(b -> b.getActualEndTime() != null && YearMonth.from(b.getActualEndTime()).equals(lastMonth))
-                .map(Booking::getTotalAmount)
-                .filter(Objects::nonNull)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        Map<YearMonth, DailyStationMetricRepository.MonthlyMetricProjection> monthly =
+                getMonthlyMetricBuckets(lastMonth, thisMonth);
+        BigDecimal totalThisMonth = revenueOf(monthly.get(thisMonth));
+        BigDecimal totalLastMonth = revenueOf(monthly.get(lastMonth));
 
         double radiation = totalLastMonth.compareTo(BigDecimal.ZERO) > 0
                 ? totalThisMonth.subtract(totalLastMonth)
@@ -161,32 +201,39 @@ public class AdminService {
 
     // ==================== Revenue Chart ====================
     public List<RevenueAndBookingInChartResponse> getRevenueAndBookingChart() {
-        List<Booking> completedBookings = bookingRepository.findByStatus(BookingStatus.COMPLETED);
-        List<YearMonth> last12Months = new ArrayList<>();
-        
-        for (int i = 11; i >= 0; i--) {
-            last12Months.add(YearMonth.now().minusMonths(i));
+        YearMonth currentMonth = YearMonth.now();
+        YearMonth firstMonth = currentMonth.minusMonths(11);
+        Map<YearMonth, DailyStationMetricRepository.MonthlyMetricProjection> monthly =
+                getMonthlyMetricBuckets(firstMonth, currentMonth);
+
+        List<RevenueAndBookingInChartResponse> result = new ArrayList<>();
+        for (YearMonth month = firstMonth; !month.isAfter(currentMonth); month = month.plusMonths(1)) {
+            DailyStationMetricRepository.MonthlyMetricProjection bucket = monthly.get(month);
+            result.add(RevenueAndBookingInChartResponse.builder()
+                    .month(month.toString())
+                    .revenue(revenueOf(bucket))
+                    .countBookingByMonth(bucket != null && bucket.getBookingsCompleted() != null ? bucket.getBookingsCompleted() : 0)
+                    .build());
         }
+        return result;
+    }
 
-        return last12Months.stream()
-                .map(month -> {
-                    BigDecimal revenue = completedBookings.stream()
-                            .filter(b -> b.getActualEndTime() != null && YearMonth.from(b.getActualEndTime()).equals(month))
-                            .map(Booking::getTotalAmount)
-                            .filter(Objects::nonNull)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    // Daily rollups summed per calendar month, inclusive of both ends
+    private Map<YearMonth, DailyStationMetricRepository.MonthlyMetricProjection> getMonthlyMetricBuckets(
+            YearMonth from, YearMonth to) {
+        return dailyStationMetricRepository.sumByMonth(from.atDay(1), to.plusMonths(1).atDay(1))
+                .stream()
+                .collect(Collectors.toMap(
+                        p -> YearMonth.of(p.getYear(), p.getMonth()),
+                        p -> p));
+    }
 
-                    long count = completedBookings.stream()
-                            .filter(b -> b.getActualEndTime() != null && YearMonth.from(b.getActualEndTime()).equals(month))
-                            .count();
+    private BigDecimal revenueOf(DailyStationMetricRepository.MonthlyMetricProjection bucket) {
+        return bucket != null && bucket.getRevenue() != null ? bucket.getRevenue() : BigDecimal.ZERO;
+    }
 
-                    return RevenueAndBookingInChartResponse.builder()
-                            .month(month.toString())
-                            .revenue(revenue)
-                            .countBookingByMonth(count)
-                            .build();
-                })
-                .collect(Collectors.toList());
+    private long bookingsCreatedOf(DailyStationMetricRepository.MonthlyMetricProjection bucket) {
+        return bucket != null && bucket.getBookingsCreated() != null ? bucket.getBookingsCreated() : 0;
     }
 
     // ==================== Vehicle Status ====================
@@ -207,8 +254,9 @@ public class AdminService {
     }
 
     // ==================== Booking by Type ====================
+    @Transactional(readOnly = true)
     public List<BookingByTypeResponse> getBookingByType() {
-        List<Booking> allBookings = bookingRepository.findAll();
+        List<Booking> allBookings = bookingRepository.findAllWithSummaryBy(Pageable.unpaged()).getContent();
 
         Map<FuelType, List<Booking>> bookingsByType = allBookings.stream()
                 .filter(b -> b.getVehicle() != null && b.getVehicle().getFuelType() != null)
@@ -232,10 +280,9 @@ public class AdminService {
     }
 
     // ==================== New Bookings ====================
+    @Transactional(readOnly = true)
     public List<NewBookingResponse> getNewBookings() {
-        return bookingRepository.findAll().stream()
-                .sorted(Comparator.comparing(Booking::getCreatedAt).reversed())
-                .limit(5)
+        return bookingRepository.findAllWithSummaryBy(PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "createdAt"))).stream()
                 .map(booking -> NewBookingResponse.builder()
                         .bookingId(booking.getId())
                         .fullName(booking.getRenter() != null ? booking.getRenter().getFullName() : "Unknown")
@@ -361,10 +408,7 @@ public class AdminService {
         long totalConfirm = bookingRepository.countByStatus(BookingStatus.CONFIRMED);
         long totalOnGoing = bookingRepository.countByStatus(BookingStatus.ONGOING);
         
-        BigDecimal totalRevenue = bookingRepository.findByStatus(BookingStatus.COMPLETED).stream()
-                .map(Booking::getTotalAmount)
-                .filter(Objects::nonNull)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal totalRevenue = dailyStationMetricRepository.sumAll().getRevenue();
 
         return MetricBookingDashboardResponse.builder()
                 .totalBooking(totalBookings)
@@ -374,8 +418,9 @@ public class AdminService {
                 .build();
     }
 
+    @Transactional(readOnly = true)
     public List<BookingResponse> getBookingsTable() {
-        return bookingRepository.findAll().stream()
+        return bookingRepository.findAllWithSummaryBy(Pageable.unpaged()).stream()
                 .map(this::mapToBookingResponse)
                 .collect(Collectors.toList());
     }
@@ -412,14 +457,64 @@ public class AdminService {
                 .build();
     }
 
+    /**
+     * Writes every booking to {@code out} while scrolling a forward-only result set, clearing the
+     * persistence context periodically so memory stays flat regardless of table size.
+     */
+    @Transactional(readOnly = true)
+    public void exportBookings(ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(String.join(",", EXPORT_CSV_COLUMNS.keySet()));
+            writer.write('\n');
+        }
+
+        int written = 0;
+        try (Stream<Booking> bookings = bookingRepository.streamAllWithAssociations()) {
+            Iterator<Booking> iterator = bookings.iterator();
+            while (iterator.hasNext()) {
+                BookingResponse row = mapToBookingResponse(iterator.next());
+                if (format == ExportFormat.CSV) {
+                    writeCsvRow(writer, row);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(row));
+                    writer.write('\n');
+                }
+                if (++written % EXPORT_FLUSH_INTERVAL == 0) {
+                    writer.flush();
+                    entityManager.clear();
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeCsvRow(Writer writer, BookingResponse row) throws IOException {
+        StringJoiner line = new StringJoiner(",");
+        for (Function<BookingResponse, Object> column : EXPORT_CSV_COLUMNS.values()) {
+            Object value = column.apply(row);
+            line.add(value == null ? "" : escapeCsv(value.toString()));
+        }
+        writer.write(line.toString());
+        writer.write('\n');
+    }
+
+    private static String escapeCsv(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
     // ==================== Revenue Analysis ====================
     public YearlyRevenueComparisonResponse getYearlyRevenueComparison() {
         int currentYear = LocalDate.now().getYear();
         int lastYear = currentYear - 1;
-        List<Booking> completedBookings = bookingRepository.findByStatus(BookingStatus.COMPLETED);
+        Map<YearMonth, DailyStationMetricRepository.MonthlyMetricProjection> monthly =
+                getMonthlyMetricBuckets(YearMonth.of(lastYear, 1), YearMonth.of(currentYear, 12));
 
-        List<MonthlyRevenueDetail> thisYearMonthly = getMonthlyRevenue(completedBookings, currentYear);
-        List<MonthlyRevenueDetail> lastYearMonthly = getMonthlyRevenue(completedBookings, lastYear);
+        List<MonthlyRevenueDetail> thisYearMonthly = getMonthlyRevenue(monthly, currentYear);
+        List<MonthlyRevenueDetail> lastYearMonthly = getMonthlyRevenue(monthly, lastYear);
 
         BigDecimal totalThisYear = thisYearMonthly.stream()
                 .map(MonthlyRevenueDetail::getRevenue)
@@ -445,21 +540,13 @@ public class AdminService {
                 .build();
     }
 
-    private List<MonthlyRevenueDetail> getMonthlyRevenue(List<Booking> completedBookings, int year) {
+    private List<MonthlyRevenueDetail> getMonthlyRevenue(
+            Map<YearMonth, DailyStationMetricRepository.MonthlyMetricProjection> monthly, int year) {
         List<MonthlyRevenueDetail> result = new ArrayList<>();
         for (int month = 1; month <= 12; month++) {
-            int finalMonth = month;
-            BigDecimal monthRevenue = completedBookings.stream()
-                    .filter(b -> b.getActualEndTime() != null &&
-                            b.getActualEndTime().getYear() == year &&
-                            b.getActualEndTime().getMonthValue() == finalMonth)
-                    .map(Booking::getTotalAmount)
-                    .filter(Objects::nonNull)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
             result.add(MonthlyRevenueDetail.builder()
                     .month(month)
-                    .revenue(monthRevenue)
+                    .revenue(revenueOf(monthly.get(YearMonth.of(year, month))))
                     .build());
         }
         return result;
@@ -468,41 +555,35 @@ public class AdminService {
     public List<RevenueByYearResponse> getRevenueByYear(Integer numberOfYears) {
         int currentYear = LocalDate.now().getYear();
         int years = numberOfYears != null ? numberOfYears : 5;
-        List<Booking> completedBookings = bookingRepository.findByStatus(BookingStatus.COMPLETED);
+        if (years <= 0) {
+            return new ArrayList<>();
+        }
+
+        Map<Integer, BigDecimal> revenueByYear = dailyStationMetricRepository.sumByYear(
+                        LocalDate.of(currentYear - years + 1, 1, 1),
+                        LocalDate.of(currentYear + 1, 1, 1))
+                .stream()
+                .collect(Collectors.toMap(
+                        DailyStationMetricRepository.YearlyMetricProjection::getYear,
+                        p -> p.getRevenue() != null ? p.getRevenue() : BigDecimal.ZERO));
 
         List<RevenueByYearResponse> result = new ArrayList<>();
         for (int i = 0; i < years; i++) {
             int year = currentYear - i;
-            BigDecimal yearRevenue = completedBookings.stream()
-                    .filter(b -> b.getActualEndTime() != null && b.getActualEndTime().getYear() == year)
-                    .map(Booking::getTotalAmount)
-                    .filter(Objects::nonNull)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
             result.add(RevenueByYearResponse.builder()
                     .year(year)
-                    .totalRevenue(yearRevenue)
+                    .totalRevenue(revenueByYear.getOrDefault(year, BigDecimal.ZERO))
                     .build());
         }
         return result;
     }
 
     public DetailRevenueResponse getDetailRevenue() {
-        List<Booking> completedBookings = bookingRepository.findByStatus(BookingStatus.COMPLETED);
-
-        BigDecimal revenueFromRental = completedBookings.stream()
-                .map(Booking::getBasePrice)
-                .filter(Objects::nonNull)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal revenueFromExtraFee = completedBookings.stream()
-                .map(Booking::getExtraFee)
-                .filter(Objects::nonNull)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        DailyStationMetricRepository.MetricTotalsProjection totals = dailyStationMetricRepository.sumAll();
 
         return DetailRevenueResponse.builder()
-                .revenueFromRental(revenueFromRental)
-                .revenueFromExtraFee(revenueFromExtraFee)
+                .revenueFromRental(totals.getRentalRevenue())
+                .revenueFromExtraFee(totals.getExtraFees())
                 .build();
     }
 
@@ -557,5 +638,6 @@ public class AdminService {
 
         staff.setStationId(stationId);
         userRepository.save(staff);
+        eventPublisher.publishEvent(new UserChangedEvent(staff.getCognitoSub()));
     }
 }
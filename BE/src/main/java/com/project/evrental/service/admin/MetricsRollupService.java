@@ -0,0 +1,121 @@
+package com.project.evrental.service.admin;
+
+import com.project.evrental.domain.entity.Booking;
+import com.project.evrental.domain.entity.Payment;
+import com.project.evrental.repository.DailyStationMetricRepository;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Maintains the {@code daily_station_metrics} rollup table.
+ * Write hooks are called from booking/payment flows and join the caller's transaction,
+ * so the rollup row changes atomically with the booking it describes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class MetricsRollupService {
+
+    DailyStationMetricRepository dailyStationMetricRepository;
+
+    // ==================== Write hooks ====================
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordBookingCreated(Booking booking) {
+        LocalDate day = booking.getCreatedAt() != null ? booking.getCreatedAt().toLocalDate() : LocalDate.now();
+        increment(day, booking.getStation().getId(), 1, 0, 0,
+                BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, 0);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordBookingCompleted(Booking booking, BigDecimal lateFee) {
+        LocalDateTime endTime = booking.getActualEndTime() != null ? booking.getActualEndTime() : LocalDateTime.now();
+        long activeMinutes = booking.getStartTime() != null
+                ? Math.max(0, Duration.between(booking.getStartTime(), endTime).toMinutes())
+                : 0;
+        increment(endTime.toLocalDate(), booking.getStation().getId(), 0, 1, 0,
+                nullToZero(booking.getTotalAmount()),
+                nullToZero(booking.getBasePrice()),
+                nullToZero(booking.getExtraFee()),
+                nullToZero(lateFee),
+                BigDecimal.ZERO,
+                activeMinutes);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordBookingCancelled(Booking booking) {
+        increment(LocalDate.now(), booking.getStation().getId(), 0, 0, 1,
+                BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, 0);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordPaymentCollected(Payment payment) {
+        if (payment.getBooking() == null) {
+            return;
+        }
+        LocalDate day = payment.getPaidAt() != null ? payment.getPaidAt().toLocalDate() : LocalDate.now();
+        increment(day, payment.getBooking().getStation().getId(), 0, 0, 0,
+                BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO,
+                nullToZero(payment.getAmount()), 0);
+    }
+
+    // ==================== Reconciliation ====================
+
+    /**
+     * Rebuilds the rollup rows of a single day from the raw bookings/payments tables,
+     * correcting drift from admin edits, deletions or writes that bypassed the hooks.
+     */
+    @Transactional
+    public void recomputeDay(LocalDate day) {
+        dailyStationMetricRepository.resetDay(day);
+        dailyStationMetricRepository.recomputeDay(day, day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+    }
+
+    @Transactional
+    public int recomputeRange(LocalDate fromInclusive, LocalDate toInclusive) {
+        int days = 0;
+        for (LocalDate day = fromInclusive; !day.isAfter(toInclusive); day = day.plusDays(1)) {
+            recomputeDay(day);
+            days++;
+        }
+        log.info("Recomputed daily station metrics from {} to {} ({} days)", fromInclusive, toInclusive, days);
+        return days;
+    }
+
+    @Transactional
+    public void backfillIfEmpty() {
+        if (dailyStationMetricRepository.count() > 0) {
+            return;
+        }
+        LocalDate firstBookingDate = dailyStationMetricRepository.findFirstBookingDate();
+        if (firstBookingDate == null) {
+            return;
+        }
+        log.info("Daily station metrics are empty, backfilling from {}", firstBookingDate);
+        recomputeRange(firstBookingDate, LocalDate.now());
+    }
+
+    private void increment(LocalDate day, UUID stationId,
+                           long created, long completed, long cancelled,
+                           BigDecimal revenue, BigDecimal rentalRevenue, BigDecimal extraFees,
+                           BigDecimal lateFees, BigDecimal collectedAmount, long activeMinutes) {
+        dailyStationMetricRepository.increment(day, stationId, created, completed, cancelled,
+                revenue, rentalRevenue, extraFees, lateFees, collectedAmount, activeMinutes);
+    }
+
+    private BigDecimal nullToZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,119 @@
+package com.project.evrental.service.auth;
+
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import jakarta.annotation.PostConstruct;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The Cognito user pool's signing keys, shared by the resource server's {@code JwtDecoder} and
+ * {@link JwtService}. Keys are loaded at startup and refreshed in the background by
+ * {@code JwksRefreshScheduled}. A token signed with an unknown {@code kid} (key rotation)
+ * triggers an immediate refetch, at most once per {@code aws.cognito.jwks.min-refetch-interval}.
+ * Setting {@code aws.cognito.jwks.file} loads the keys from a local JWKS file instead, e.g. for
+ * offline tests.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class CognitoJwkSource implements JWKSource<SecurityContext> {
+
+    private static final int SIZE_LIMIT_BYTES = 512 * 1024;
+
+    @NonFinal
+    @Value("${aws.cognito.jwt-set-uri}")
+    String jwkSetUri;
+
+    @NonFinal
+    @Value("${aws.cognito.jwks.file:}")
+    String jwkSetFile;
+
+    @NonFinal
+    @Value("${aws.cognito.jwks.min-refetch-interval:PT30S}")
+    Duration minRefetchInterval;
+
+    @NonFinal
+    @Value("${aws.cognito.jwks.timeout:PT5S}")
+    Duration timeout;
+
+    // A lock rather than synchronized: the fetch blocks on I/O and must not pin a virtual thread
+    ReentrantLock fetchLock = new ReentrantLock();
+
+    @NonFinal
+    volatile JWKSet jwkSet = new JWKSet();
+
+    @NonFinal
+    volatile long lastFetchNanos;
+
+    @NonFinal
+    volatile boolean fetchedOnce;
+
+    @PostConstruct
+    void preload() {
+        try {
+            refresh();
+        } catch (KeySourceException e) {
+            // Not fatal: the first token with an unknown kid retries the fetch
+            log.warn("Could not preload Cognito JWKS: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) throws KeySourceException {
+        List<JWK> matches = jwkSelector.select(jwkSet);
+        if (!matches.isEmpty()) {
+            return matches;
+        }
+        // Another thread may have refetched while this one waited, so select again either way
+        refetchIfAllowed();
+        return jwkSelector.select(jwkSet);
+    }
+
+    /** Reloads the key set, replacing the current one only when the load succeeds. */
+    public void refresh() throws KeySourceException {
+        fetchLock.lock();
+        try {
+            lastFetchNanos = System.nanoTime();
+            fetchedOnce = true;
+            JWKSet loaded = jwkSetFile.isBlank()
+                    ? JWKSet.load(URI.create(jwkSetUri).toURL(), (int) timeout.toMillis(), (int) timeout.toMillis(), SIZE_LIMIT_BYTES)
+                    : JWKSet.load(new File(jwkSetFile));
+            jwkSet = loaded;
+            log.info("Loaded {} Cognito signing keys from {}", loaded.getKeys().size(),
+                    jwkSetFile.isBlank() ? jwkSetUri : jwkSetFile);
+        } catch (Exception e) {
+            throw new KeySourceException("Failed to load JWKS: " + e.getMessage(), e);
+        } finally {
+            fetchLock.unlock();
+        }
+    }
+
+    private void refetchIfAllowed() throws KeySourceException {
+        fetchLock.lock();
+        try {
+            if (fetchedOnce && System.nanoTime() - lastFetchNanos < minRefetchInterval.toNanos()) {
+                return;
+            }
+            refresh();
+        } finally {
+            fetchLock.unlock();
+        }
+    }
+}
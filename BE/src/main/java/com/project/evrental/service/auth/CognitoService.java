@@ -9,6 +9,7 @@ import com.project.evrental.domain.dto.response.CognitoTokenResponse;
 import com.project.evrental.domain.dto.response.OauthState;
 import com.project.evrental.domain.dto.response.UserResponse;
 import com.project.evrental.domain.entity.User;
+import com.project.evrental.domain.event.UserChangedEvent;
 import com.project.evrental.exception.custom.AuthException;
 import com.project.evrental.mapper.UserMapper;
 import com.project.evrental.service.UserService;
@@ -17,6 +18,7 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
@@ -34,6 +36,7 @@ import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ThreadLocalRandom;
 
 @Service
@@ -52,6 +55,8 @@ public class CognitoService {
 
     JwtService jwtService;
 
+    ApplicationEventPublisher eventPublisher;
+
     @Transactional
     public AuthResponse register(RegisterRequest request) {
         try {
@@ -179,7 +184,11 @@ public class CognitoService {
             } else {
                 user.setAvatarUrl(picture);
                 user.setFullName(fullName);
-                user.setEmail(email);
+                // The cached principal carries the email, so drop it once the change commits
+                if (!Objects.equals(user.getEmail(), email)) {
+                    user.setEmail(email);
+                    eventPublisher.publishEvent(new UserChangedEvent(cognitoSub));
+                }
             }
             var loadedUser = userService.createUser(user);
 
@@ -1,8 +1,6 @@
 package com.project.evrental.service.auth;
 
 import com.nimbusds.jose.JWSAlgorithm;
-import com.nimbusds.jose.jwk.source.JWKSource;
-import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
 import com.nimbusds.jose.proc.JWSKeySelector;
 import com.nimbusds.jose.proc.JWSVerificationKeySelector;
 import com.nimbusds.jose.proc.SecurityContext;
@@ -13,15 +11,16 @@ import com.nimbusds.jwt.proc.DefaultJWTProcessor;
 import com.nimbusds.jwt.proc.JWTProcessor;
 import com.project.evrental.config.CognitoConfig;
 import com.project.evrental.exception.custom.AuthException;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.experimental.NonFinal;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.net.URL;
 import java.text.ParseException;
 import java.util.Date;
 import java.util.Set;
@@ -33,9 +32,15 @@ import java.util.Set;
 public class JwtService {
 
     CognitoConfig cognitoConfig;
+    CognitoJwkSource cognitoJwkSource;
+    MeterRegistry meterRegistry;
 
     @NonFinal
-    JWKSource<SecurityContext> jwkSource;
+    @Value("${security.token-cache.max-entries:10000}")
+    int tokenCacheMaxEntries;
+
+    @NonFinal
+    VerifiedTokenCache<JWTClaimsSet> verifiedIdTokens;
 
     @NonFinal
     JWTProcessor<SecurityContext> jwtProcessor;
@@ -43,14 +48,8 @@ public class JwtService {
     @PostConstruct
     public void init() {
         try {
-            String jwkUrl = String.format("https://cognito-idp.%s.amazonaws.com/%s/.well-known/jwks.json",
-                    cognitoConfig.getRegion(),
-                    cognitoConfig.getUserPoolId());
-
-            this.jwkSource = JWKSourceBuilder.create(new URL(jwkUrl)).build();
-
             ConfigurableJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
-            JWSKeySelector<SecurityContext> keySelector = new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource);
+            JWSKeySelector<SecurityContext> keySelector = new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, cognitoJwkSource);
             processor.setJWSKeySelector(keySelector);
             processor.setJWTClaimsSetVerifier(new DefaultJWTClaimsVerifier<>(
                     new JWTClaimsSet.Builder()
@@ -62,6 +61,7 @@ public class JwtService {
             ));
 
             this.jwtProcessor = processor;
+            this.verifiedIdTokens = new VerifiedTokenCache<>("id-token", tokenCacheMaxEntries, meterRegistry);
         } catch (Exception e) {
             log.error("Failed to initialize JWT validator", e);
             throw new RuntimeException("JWT validator initialization failed", e);
@@ -69,6 +69,10 @@ public class JwtService {
     }
 
     public JWTClaimsSet validateIdToken(String idToken) {
+        JWTClaimsSet cached = verifiedIdTokens.get(idToken);
+        if (cached != null) {
+            return cached;
+        }
         try {
             JWTClaimsSet claims = jwtProcessor.process(idToken, null);
 
@@ -87,6 +91,7 @@ public class JwtService {
 
             log.info("Token validated successfully for user: {}", claims.getClaim("email"));
 
+            verifiedIdTokens.put(idToken, claims, claims.getExpirationTime().toInstant());
             return claims;
         } catch (Exception e) {
             log.error("Token validation failed", e);
@@ -0,0 +1,127 @@
+package com.project.evrental.service.auth;
+
+import com.project.evrental.config.CacheNames;
+import com.project.evrental.config.ResolvedUserAuthentication;
+import com.project.evrental.domain.dto.ResolvedUser;
+import com.project.evrental.domain.entity.User;
+import com.project.evrental.domain.event.UserChangedEvent;
+import com.project.evrental.exception.custom.ResourceNotFoundException;
+import com.project.evrental.repository.UserRepository;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+
+/**
+ * Turns a Cognito {@code sub} into a {@link ResolvedUser}. Lookups are memoized for the current
+ * request and cached in the two-tier {@code principals} cache, so most authenticated requests
+ * resolve their user without a query. Services read the result through {@link #currentUser()}. Entries are evicted when {@link UserChangedEvent} commits.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class PrincipalResolver {
+
+    private static final String REQUEST_ATTRIBUTE_PREFIX = PrincipalResolver.class.getName() + ".";
+
+    UserRepository userRepository;
+    CacheManager cacheManager;
+
+    /**
+     * The user behind the current request, as resolved by {@code JwtAuthConverter}. Falls back to a
+     * lookup when the token was converted before the local user existed.
+     */
+    public ResolvedUser currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication instanceof ResolvedUserAuthentication resolved && resolved.getResolvedUser() != null) {
+            return resolved.getResolvedUser();
+        }
+        if (authentication == null || !(authentication.getPrincipal() instanceof Jwt jwt)) {
+            throw new IllegalStateException("User is not authenticated");
+        }
+        String sub = jwt.getSubject();
+        return resolve(sub)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with cognito sub: " + sub));
+    }
+
+    public Optional<ResolvedUser> resolve(String cognitoSub) {
+        if (cognitoSub == null) {
+            return Optional.empty();
+        }
+
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        String attribute = REQUEST_ATTRIBUTE_PREFIX + cognitoSub;
+        if (request != null && request.getAttribute(attribute, RequestAttributes.SCOPE_REQUEST) instanceof ResolvedUser memo) {
+            return Optional.of(memo);
+        }
+
+        ResolvedUser resolved = cached(cognitoSub);
+        if (resolved == null) {
+            resolved = userRepository.findByCognitoSub(cognitoSub).map(this::toResolvedUser).orElse(null);
+            if (resolved == null) {
+                return Optional.empty();
+            }
+            store(cognitoSub, resolved);
+        }
+
+        if (request != null) {
+            request.setAttribute(attribute, resolved, RequestAttributes.SCOPE_REQUEST);
+        }
+        return Optional.of(resolved);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.cognitoSub() == null) {
+            return;
+        }
+        try {
+            principals().evict(event.cognitoSub());
+        } catch (RuntimeException e) {
+            log.warn("Failed to evict principal {}: {}", event.cognitoSub(), e.getMessage());
+        }
+    }
+
+    private ResolvedUser toResolvedUser(User user) {
+        return ResolvedUser.builder()
+                .id(user.getId())
+                .email(user.getEmail())
+                .role(user.getRole())
+                .stationId(user.getStationId())
+                .build();
+    }
+
+    // Cache failures fall back to the database, as for the annotated caches
+    private ResolvedUser cached(String cognitoSub) {
+        try {
+            return principals().get(cognitoSub, ResolvedUser.class);
+        } catch (RuntimeException e) {
+            log.warn("Principal cache lookup failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void store(String cognitoSub, ResolvedUser resolved) {
+        try {
+            principals().put(cognitoSub, resolved);
+        } catch (RuntimeException e) {
+            log.warn("Principal cache write failed: {}", e.getMessage());
+        }
+    }
+
+    private Cache principals() {
+        return cacheManager.getCache(CacheNames.PRINCIPALS);
+    }
+}
@@ -0,0 +1,98 @@
+package com.project.evrental.service.auth;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Bounded map from the SHA-256 of an already verified token to its decoded form, so a bearer
+ * token reused across requests is signature-checked once. Entries expire with the token's
+ * {@code exp}; only tokens that passed every check are stored. Hits and misses are reported as
+ * {@code jwt.verification.cache{verifier, result}}.
+ */
+public class VerifiedTokenCache<T> {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private final ConcurrentMap<String, Entry<T>> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final Counter hits;
+    private final Counter misses;
+
+    public VerifiedTokenCache(String verifier, int maxEntries, MeterRegistry meterRegistry) {
+        this.maxEntries = maxEntries;
+        this.hits = Counter.builder("jwt.verification.cache")
+                .tag("verifier", verifier)
+                .tag("result", "hit")
+                .description("Token verifications answered from the verified-token cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("jwt.verification.cache")
+                .tag("verifier", verifier)
+                .tag("result", "miss")
+                .description("Token verifications that ran the signature check")
+                .register(meterRegistry);
+        Gauge.builder("jwt.verification.cache.size", entries, ConcurrentMap::size)
+                .tag("verifier", verifier)
+                .register(meterRegistry);
+    }
+
+    public T get(String token) {
+        String key = hash(token);
+        Entry<T> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (!Instant.now().isBefore(entry.expiresAt())) {
+            entries.remove(key, entry);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value();
+    }
+
+    public void put(String token, T value, Instant expiresAt) {
+        if (expiresAt == null || !Instant.now().isBefore(expiresAt)) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            prune();
+        }
+        entries.put(hash(token), new Entry<>(value, expiresAt));
+    }
+
+    // Drops expired entries first, then arbitrary ones until there is 10% headroom
+    private void prune() {
+        Instant now = Instant.now();
+        entries.values().removeIf(entry -> !now.isBefore(entry.expiresAt()));
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() >= maxEntries * 9 / 10 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static String hash(String token) {
+        byte[] digest = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getEncoder().encodeToString(digest);
+    }
+
+    private record Entry<T>(T value, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,144 @@
+package com.project.evrental.service.counter;
+
+import com.project.evrental.config.CacheNames;
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Buffers hot counter increments (blog views, vehicle rents) in memory and writes them to the
+ * database in one JDBC batch of {@code SET col = col + ?} updates per counter, instead of a
+ * load-and-save of the whole row per increment. Reads add {@link #pending} on top of the stored
+ * value, so a client sees its own increments before they are flushed. A delta being written stays
+ * pending until its batch succeeds, so a read during a flush does not go backwards. Cached
+ * responses that embed a counter are evicted for the flushed ids, so they are stale for at most
+ * one flush interval.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class CounterService {
+
+    JdbcTemplate jdbcTemplate;
+
+    CacheManager cacheManager;
+
+    Map<Counter, ConcurrentMap<UUID, Long>> buffers = new EnumMap<>(Map.of(
+            Counter.BLOG_VIEWS, new ConcurrentHashMap<>(),
+            Counter.VEHICLE_RENTS, new ConcurrentHashMap<>()));
+
+    // Deltas taken from the buffers by a flush whose batch has not succeeded yet
+    Map<Counter, ConcurrentMap<UUID, Long>> inFlight = new EnumMap<>(Map.of(
+            Counter.BLOG_VIEWS, new ConcurrentHashMap<>(),
+            Counter.VEHICLE_RENTS, new ConcurrentHashMap<>()));
+
+    public void increment(Counter counter, UUID id) {
+        buffers.get(counter).merge(id, 1L, Long::sum);
+    }
+
+    /** Increments recorded on this instance that have not been written to the database yet. */
+    public long pending(Counter counter, UUID id) {
+        return buffers.get(counter).getOrDefault(id, 0L) + inFlight.get(counter).getOrDefault(id, 0L);
+    }
+
+    public int withPending(Counter counter, UUID id, Integer stored) {
+        return (int) ((stored != null ? stored : 0) + pending(counter, id));
+    }
+
+    /**
+     * Writes all buffered deltas. Each key is moved atomically to the in-flight map before it is
+     * written, so increments arriving during the flush start a new delta. The in-flight deltas are
+     * dropped once the batch succeeds; a failed batch is merged back into the buffer.
+     */
+    public void flush() {
+        buffers.forEach(this::flush);
+    }
+
+    private void flush(Counter counter, ConcurrentMap<UUID, Long> buffer) {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        ConcurrentMap<UUID, Long> writing = inFlight.get(counter);
+        List<Object[]> batch = new ArrayList<>();
+        for (UUID id : buffer.keySet()) {
+            buffer.computeIfPresent(id, (key, delta) -> {
+                writing.merge(key, delta, Long::sum);
+                batch.add(new Object[]{delta, key});
+                return null;
+            });
+        }
+        try {
+            jdbcTemplate.batchUpdate(counter.updateSql, batch);
+            log.debug("Flushed {} {} counters", batch.size(), counter);
+        } catch (RuntimeException e) {
+            batch.forEach(row -> buffer.merge((UUID) row[1], (Long) row[0], Long::sum));
+            settle(writing, batch);
+            throw e;
+        }
+        settle(writing, batch);
+        evictCached(counter, batch);
+    }
+
+    private void settle(ConcurrentMap<UUID, Long> writing, List<Object[]> batch) {
+        for (Object[] row : batch) {
+            long delta = (Long) row[0];
+            writing.computeIfPresent((UUID) row[1], (id, total) -> total == delta ? null : total - delta);
+        }
+    }
+
+    private void evictCached(Counter counter, List<Object[]> batch) {
+        Cache cache = counter.cacheName != null ? cacheManager.getCache(counter.cacheName) : null;
+        if (cache == null) {
+            return;
+        }
+        for (Object[] row : batch) {
+            try {
+                cache.evict(row[1]);
+            } catch (RuntimeException e) {
+                log.warn("Failed to evict {} from cache {}: {}", row[1], counter.cacheName, e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Failed to flush counters on shutdown", e);
+        }
+    }
+
+    public enum Counter {
+        BLOG_VIEWS("UPDATE blogs SET view_count = COALESCE(view_count, 0) + ? WHERE id = ?", null),
+        // Leaves the version alone, so a concurrent vehicle edit does not fail; Vehicle uses dynamic
+        // updates, so that edit cannot write back a stale rent_count either
+        VEHICLE_RENTS("UPDATE vehicles SET rent_count = COALESCE(rent_count, 0) + ? WHERE id = ?",
+                CacheNames.VEHICLE_DETAIL);
+
+        private final String updateSql;
+
+        /** Cache keyed by the counted id whose entries embed this counter, if any. */
+        private final String cacheName;
+
+        Counter(String updateSql, String cacheName) {
+            this.updateSql = updateSql;
+            this.cacheName = cacheName;
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.project.evrental.service.reservation;
+
+import com.project.evrental.domain.entity.Booking;
+import com.project.evrental.repository.BookingRepository;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Per-vehicle calendar of active (not cancelled or completed) bookings as half-open
+ * {@code [startTime, expectedEndTime)} slots.
+ * <p>
+ * Slots live in a sorted map per vehicle, so an overlap check is a single {@code lowerEntry}
+ * lookup and a reservation is check-and-insert under that vehicle's lock only. Calendars are
+ * loaded lazily and reloaded after {@code reservation.schedule-ttl}, because bookings written by
+ * other instances reach this one only through the database. A reload refreshes the calendar in
+ * place under its lock and keeps reservations whose transactions have not committed yet, which
+ * the query cannot see. The {@code ex_bookings_vehicle_period} exclusion constraint is what keeps
+ * concurrent instances from double-booking a vehicle.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ReservationEngine {
+
+    BookingRepository bookingRepository;
+
+    ConcurrentMap<UUID, VehicleSchedule> schedules = new ConcurrentHashMap<>();
+
+    @NonFinal
+    @Value("${reservation.schedule-ttl:PT1M}")
+    Duration scheduleTtl;
+
+    /**
+     * Claims the booking's window on its vehicle, replacing any earlier window of the same booking.
+     * Throws {@link IllegalStateException} when it overlaps another active booking. If the
+     * surrounding transaction rolls back, the vehicle's calendar is reloaded on next use.
+     */
+    public void reserve(Booking booking) {
+        UUID vehicleId = booking.getVehicle().getId();
+        Slot slot = new Slot(booking.getId(), booking.getStartTime(), booking.getExpectedEndTime());
+        if (!slot.start().isBefore(slot.end())) {
+            return; // an empty range cannot overlap anything
+        }
+        VehicleSchedule schedule = scheduleOf(vehicleId);
+
+        schedule.lock.lock();
+        try {
+            Slot conflict = schedule.findOverlap(slot);
+            if (conflict != null) {
+                // Our copy may still hold a booking that another instance has since cancelled
+                schedule.reset(loadSlots(List.of(vehicleId)).getOrDefault(vehicleId, List.of()));
+                conflict = schedule.findOverlap(slot);
+            }
+            if (conflict != null) {
+                throw new IllegalStateException("Vehicle is already booked from "
+                        + conflict.start() + " to " + conflict.end());
+            }
+            schedule.hold(slot);
+        } finally {
+            schedule.lock.unlock();
+        }
+
+        afterCompletion(committed -> {
+            schedule.lock.lock();
+            try {
+                schedule.settle(slot.bookingId(), committed);
+            } finally {
+                schedule.lock.unlock();
+            }
+        });
+    }
+
+    /** Frees the booking's window once the surrounding transaction commits. */
+    public void release(Booking booking) {
+        UUID vehicleId = booking.getVehicle().getId();
+        UUID bookingId = booking.getId();
+        afterCompletion(committed -> {
+            VehicleSchedule schedule = schedules.get(vehicleId);
+            if (committed && schedule != null) {
+                schedule.lock.lock();
+                try {
+                    schedule.remove(bookingId);
+                } finally {
+                    schedule.lock.unlock();
+                }
+            }
+        });
+    }
+
+    public boolean isFree(UUID vehicleId, LocalDateTime start, LocalDateTime end) {
+        VehicleSchedule schedule = scheduleOf(vehicleId);
+        schedule.lock.lock();
+        try {
+            return schedule.findOverlap(new Slot(null, start, end)) == null;
+        } finally {
+            schedule.lock.unlock();
+        }
+    }
+
+    /** Loads the calendars of several vehicles with one query, e.g. before filtering a search result. */
+    public void preload(Collection<UUID> vehicleIds) {
+        long now = System.nanoTime();
+        List<UUID> missing = vehicleIds.stream()
+                .filter(id -> {
+                    VehicleSchedule schedule = schedules.get(id);
+                    return schedule == null || schedule.isExpired(now, scheduleTtl);
+                })
+                .distinct()
+                .toList();
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        Map<UUID, List<Slot>> slotsByVehicle = loadSlots(missing);
+        for (UUID vehicleId : missing) {
+            List<Slot> slots = slotsByVehicle.getOrDefault(vehicleId, List.of());
+            VehicleSchedule existing = schedules.putIfAbsent(vehicleId, new VehicleSchedule(slots));
+            if (existing != null) {
+                existing.lock.lock();
+                try {
+                    existing.reset(slots);
+                } finally {
+                    existing.lock.unlock();
+                }
+            }
+        }
+        log.debug("Loaded reservation calendars for {} vehicles", missing.size());
+    }
+
+    // Schedules are never replaced once created, so the instance returned here stays current
+    private VehicleSchedule scheduleOf(UUID vehicleId) {
+        VehicleSchedule schedule = schedules.get(vehicleId);
+        if (schedule == null || schedule.isExpired(System.nanoTime(), scheduleTtl)) {
+            preload(List.of(vehicleId));
+            schedule = schedules.get(vehicleId);
+        }
+        return schedule;
+    }
+
+    private Map<UUID, List<Slot>> loadSlots(Collection<UUID> vehicleIds) {
+        return bookingRepository.findActiveReservationSlots(vehicleIds, LocalDateTime.now()).stream()
+                .collect(Collectors.groupingBy(
+                        BookingRepository.ReservationSlot::getVehicleId,
+                        Collectors.mapping(s -> new Slot(s.getId(), s.getStartTime(), s.getExpectedEndTime()),
+                                Collectors.toList())));
+    }
+
+    private void afterCompletion(Consumer<Boolean> callback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            callback.accept(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                callback.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    record Slot(UUID bookingId, LocalDateTime start, LocalDateTime end) {
+
+        boolean overlaps(Slot other) {
+            return start.isBefore(other.end) && other.start.isBefore(end);
+        }
+    }
+
+    // Guarded by its lock; reserve() reloads from the database while holding it, and a monitor
+    // would pin the carrier thread for that query when requests run on virtual threads
+    static final class VehicleSchedule {
+
+        final ReentrantLock lock = new ReentrantLock();
+        private final NavigableMap<LocalDateTime, Slot> byStart = new TreeMap<>();
+        private final Map<UUID, Slot> byBooking = new HashMap<>();
+        // Reserved by transactions that have not completed yet, so not visible to a reload
+        private final Map<UUID, Slot> uncommitted = new HashMap<>();
+        private volatile long loadedAt;
+        private volatile boolean stale;
+
+        VehicleSchedule(List<Slot> slots) {
+            reset(slots);
+        }
+
+        boolean isExpired(long now, Duration ttl) {
+            return stale || now - loadedAt > ttl.toNanos();
+        }
+
+        // Active slots never overlap, so only the latest one starting before the candidate ends can overlap it
+        Slot findOverlap(Slot candidate) {
+            Map.Entry<LocalDateTime, Slot> entry = byStart.lowerEntry(candidate.end());
+            while (entry != null && Objects.equals(entry.getValue().bookingId(), candidate.bookingId())) {
+                entry = byStart.lowerEntry(entry.getKey());
+            }
+            return entry != null && entry.getValue().overlaps(candidate) ? entry.getValue() : null;
+        }
+
+        void put(Slot slot) {
+            remove(slot.bookingId());
+            byStart.put(slot.start(), slot);
+            byBooking.put(slot.bookingId(), slot);
+            pruneEnded();
+        }
+
+        void remove(UUID bookingId) {
+            Slot slot = byBooking.remove(bookingId);
+            if (slot != null) {
+                byStart.remove(slot.start(), slot);
+            }
+        }
+
+        void hold(Slot slot) {
+            put(slot);
+            uncommitted.put(slot.bookingId(), slot);
+        }
+
+        // A rolled-back slot may have replaced the booking's committed one, so reload rather than guess
+        void settle(UUID bookingId, boolean committed) {
+            uncommitted.remove(bookingId);
+            if (!committed) {
+                stale = true;
+            }
+        }
+
+        void reset(List<Slot> slots) {
+            byStart.clear();
+            byBooking.clear();
+            slots.forEach(this::put);
+            uncommitted.values().forEach(this::put);
+            loadedAt = System.nanoTime();
+            stale = false;
+        }
+
+        void pruneEnded() {
+            LocalDateTime now = LocalDateTime.now();
+            List<UUID> ended = new ArrayList<>();
+            for (Slot slot : byStart.values()) {
+                if (slot.end().isAfter(now)) {
+                    break;
+                }
+                ended.add(slot.bookingId());
+            }
+            ended.forEach(this::remove);
+        }
+    }
+}
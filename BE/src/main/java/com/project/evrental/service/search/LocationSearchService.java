@@ -6,10 +6,13 @@ import com.project.evrental.domain.entity.Vehicle;
 import com.project.evrental.mapper.VehicleMapper;
 import com.project.evrental.repository.StationRepository;
 import com.project.evrental.repository.VehicleRepository;
+import com.project.evrental.service.reservation.ReservationEngine;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import software.amazon.awssdk.services.location.LocationClient;
 import software.amazon.awssdk.services.location.model.CalculateRouteMatrixRequest;
@@ -18,10 +21,21 @@ import software.amazon.awssdk.services.location.model.RouteMatrixEntry;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -32,6 +46,18 @@ public class LocationSearchService {
     StationRepository stationRepository;
     VehicleRepository vehicleRepository;
     LocationClient locationClient;
+    RouteDistanceCache routeDistanceCache;
+    StationSpatialIndex stationSpatialIndex;
+    ReservationEngine reservationEngine;
+    Executor routeMatrixExecutor;
+
+    @NonFinal
+    @Value("${location.route-matrix.timeout:PT0.8S}")
+    Duration routeMatrixTimeout;
+
+    @NonFinal
+    @Value("${location.station-index.enabled:true}")
+    boolean stationIndexEnabled;
 
     private static final String CALCULATOR_NAME = "voltgo-routes-calculator";
 
@@ -58,6 +84,9 @@ public class LocationSearchService {
                         .radiusKm(request.getRadiusKm())
                         .returnedCount(stations.size())
                         .searchTime(LocalDateTime.now())
+                        .estimatedDistanceCount((int) stations.stream()
+                                .filter(s -> Boolean.TRUE.equals(s.getDistanceEstimated()))
+                                .count())
                         .build())
                 .build();
     }
@@ -66,6 +95,83 @@ public class LocationSearchService {
             List<StationRepository.StationWithDistance> rawStations,
             NearbyStationSearchRequest request) {
 
+        long deadline = System.nanoTime() + routeMatrixTimeout.toNanos();
+
+        // Lấy khoảng cách đã cache theo ô geohash của user, chỉ gọi AWS cho các trạm bị miss
+        String originCell = routeDistanceCache.originCell(
+                request.getLatitude().doubleValue(),
+                request.getLongitude().doubleValue());
+
+        Map<UUID, RouteDistanceCache.RouteInfo> routes = new HashMap<>();
+        List<StationRepository.StationWithDistance> misses = new ArrayList<>();
+        for (StationRepository.StationWithDistance rawStation : rawStations) {
+            RouteDistanceCache.RouteInfo cached = routeDistanceCache.get(originCell, rawStation.getId());
+            if (cached != null) {
+                routes.put(rawStation.getId(), cached);
+            } else {
+                misses.add(rawStation);
+            }
+        }
+
+        // Gọi AWS bất đồng bộ, trong lúc đó truy vấn xe; hết budget thì dùng ước lượng
+        CompletableFuture<Map<UUID, RouteDistanceCache.RouteInfo>> pendingRoutes = misses.isEmpty()
+                ? CompletableFuture.completedFuture(Map.of())
+                : submitRouteMatrix(misses, request, originCell);
+
+        Map<UUID, List<AvailableVehicleSummary>> vehiclesByStation = findAvailableVehiclesByStation(rawStations, request);
+
+        routes.putAll(awaitRoutes(pendingRoutes, deadline));
+        log.debug("Route cache for cell {}: {} hits, {} misses",
+                originCell, rawStations.size() - misses.size(), misses.size());
+
+        return rawStations.stream()
+                .map(s -> {
+                    RouteDistanceCache.RouteInfo route = routes.get(s.getId());
+                    return route != null
+                            ? mapToNearbyStationResponse(s, vehiclesByStation, route.distanceKm(), route.durationSeconds(), false)
+                            : mapToNearbyStationResponse(s, vehiclesByStation, s.getDistanceKm() * FALLBACK_DRIVING_FACTOR, null, true);
+                })
+                .toList();
+    }
+
+    private CompletableFuture<Map<UUID, RouteDistanceCache.RouteInfo>> submitRouteMatrix(
+            List<StationRepository.StationWithDistance> misses,
+            NearbyStationSearchRequest request,
+            String originCell) {
+        try {
+            return CompletableFuture.supplyAsync(
+                    () -> calculateRouteMatrix(misses, request, originCell), routeMatrixExecutor);
+        } catch (RejectedExecutionException e) {
+            log.warn("Route matrix executor saturated, using estimated distances for {} stations", misses.size());
+            return CompletableFuture.completedFuture(Map.of());
+        }
+    }
+
+    // Chờ kết quả trong thời gian còn lại; nếu quá hạn, AWS vẫn chạy nền và ghi vào cache cho lần sau
+    private Map<UUID, RouteDistanceCache.RouteInfo> awaitRoutes(
+            CompletableFuture<Map<UUID, RouteDistanceCache.RouteInfo>> pendingRoutes,
+            long deadline) {
+        try {
+            return pendingRoutes.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.info("Route matrix exceeded {} ms budget, using estimated distances", routeMatrixTimeout.toMillis());
+            return Map.of();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Map.of();
+        } catch (ExecutionException e) {
+            log.error("Route matrix calculation failed", e.getCause());
+            return Map.of();
+        }
+    }
+
+    // Trả về khoảng cách thực tế cho các trạm AWS tính được; trạm lỗi sẽ không có trong map
+    private Map<UUID, RouteDistanceCache.RouteInfo> calculateRouteMatrix(
+            List<StationRepository.StationWithDistance> stations,
+            NearbyStationSearchRequest request,
+            String originCell) {
+
+        Map<UUID, RouteDistanceCache.RouteInfo> routes = new HashMap<>();
         try {
             // Vị trí hiện tại cúa user
             List<Double> departurePosition = List.of(
@@ -74,7 +180,7 @@ public class LocationSearchService {
             );
 
             // Chuẩn bị danh sách đích (Stations)
-            List<List<Double>> destinationPositions = rawStations.stream()
+            List<List<Double>> destinationPositions = stations.stream()
                     .map(s -> List.of(s.getLongitude().doubleValue(), s.getLatitude().doubleValue()))
                     .toList();
 
@@ -93,42 +199,66 @@ public class LocationSearchService {
             // Lấy hàng kết quả đầu tiên (vì chỉ có 1 điểm đi)
             List<RouteMatrixEntry> routeResults = matrixResponse.routeMatrix().get(0);
 
-            List<NearbyStationResponse> finalStations = new ArrayList<>();
-
-            // Duyệt danh sách gốc để ghép dữ liệu từ AWS vào
-            for (int i = 0; i < rawStations.size(); i++) {
-                StationRepository.StationWithDistance rawStation = rawStations.get(i);
+            for (int i = 0; i < stations.size(); i++) {
+                StationRepository.StationWithDistance station = stations.get(i);
                 RouteMatrixEntry routeInfo = routeResults.get(i);
 
-                Double finalDistance;
-                Double travelTimeSeconds = null;
-
                 if (routeInfo.error() != null) {
-                    log.info("AWS Route Error for station {}: {}", rawStation.getName(), routeInfo.error().message());
-                    finalDistance = rawStation.getDistanceKm() * FALLBACK_DRIVING_FACTOR;
-                } else {
-                    finalDistance = routeInfo.distance();
-                    travelTimeSeconds = routeInfo.durationSeconds();
+                    log.info("AWS Route Error for station {}: {}", station.getName(), routeInfo.error().message());
+                    continue;
                 }
 
-                finalStations.add(mapToNearbyStationResponse(rawStation, request, finalDistance, travelTimeSeconds));
+                RouteDistanceCache.RouteInfo route =
+                        new RouteDistanceCache.RouteInfo(routeInfo.distance(), routeInfo.durationSeconds());
+                routeDistanceCache.put(originCell, station.getId(), route);
+                routes.put(station.getId(), route);
             }
-
-            return finalStations;
-
         } catch (Exception e) {
             log.error("Failed to calculate routes with AWS Location Service", e);
-            return rawStations.stream()
-                    .map(s -> mapToNearbyStationResponse(s, request, s.getDistanceKm() * FALLBACK_DRIVING_FACTOR, null))
+        }
+        return routes;
+    }
+
+    // Một query duy nhất cho toàn bộ trạm tìm được, gom nhóm xe theo station
+    private Map<UUID, List<AvailableVehicleSummary>> findAvailableVehiclesByStation(
+            List<StationRepository.StationWithDistance> rawStations,
+            NearbyStationSearchRequest request) {
+
+        List<UUID> stationIds = rawStations.stream()
+                .map(StationRepository.StationWithDistance::getId)
+                .toList();
+
+        List<Vehicle> availableVehicles;
+        if (request.getStartTime() != null && request.getEndTime() != null) {
+            List<Vehicle> candidates = vehicleRepository.findByStationIdsAndFuelTypeAndBrand(
+                    stationIds,
+                    request.getFuelType(),
+                    request.getBrand()
+            );
+            reservationEngine.preload(candidates.stream().map(Vehicle::getId).toList());
+            availableVehicles = candidates.stream()
+                    .filter(v -> reservationEngine.isFree(v.getId(), request.getStartTime(), request.getEndTime()))
                     .toList();
+        } else {
+            availableVehicles = vehicleRepository.findAvailableVehiclesByStationIdsAndFuelTypeAndBrand(
+                    stationIds,
+                    request.getFuelType(),
+                    request.getBrand()
+            );
         }
+
+        return availableVehicles.stream()
+                .collect(Collectors.groupingBy(
+                        v -> v.getStation().getId(),
+                        Collectors.mapping(VehicleMapper::mapToSummary, Collectors.toList())));
     }
 
     private NearbyStationResponse mapToNearbyStationResponse(
             StationRepository.StationWithDistance station,
-            NearbyStationSearchRequest request,
+            Map<UUID, List<AvailableVehicleSummary>> vehiclesByStation,
             Double realDistanceKm,
-            Double travelTimeSeconds) {
+            Double travelTimeSeconds,
+            boolean distanceEstimated) {
 
         UUID id = station.getId();
         String name = station.getName();
@@ -148,26 +278,7 @@ public class LocationSearchService {
                     .setScale(2, RoundingMode.HALF_UP)
                     .doubleValue();
         }
-        List<Vehicle> availableVehicles;
-        if(request.getStartTime() != null && request.getEndTime() != null) {
-            availableVehicles = vehicleRepository.findTrulyAvailableVehicles(
-                    id,
-                    request.getFuelType(),
-                    request.getStartTime(),
-                    request.getEndTime()
-            );
-        } else {
-            availableVehicles = vehicleRepository.findAvailableVehiclesByStationAndFuelTypeAndBrand(
-                    id,
-                    request.getFuelType(),
-                    request.getBrand()
-            );
-        }
-
-        List<AvailableVehicleSummary> availableVehicleSummaries = availableVehicles.stream()
-                .map(VehicleMapper::mapToSummary)
-                .toList();
-
+        List<AvailableVehicleSummary> availableVehicleSummaries = vehiclesByStation.getOrDefault(id, List.of());
 
         return NearbyStationResponse.builder()
                 .id(id).name(name).address(address)
@@ -175,6 +286,7 @@ public class LocationSearchService {
                 .latitude(latitude).longitude(longitude)
                 .status(status).photo(photo)
                 .distanceKm(roundedDistance)
+                .distanceEstimated(distanceEstimated)
                 // .etaSeconds(travelTimeSeconds)
                 .startTime(startTime).endTime(endTime)
                 .availableVehicles(availableVehicleSummaries)
@@ -184,6 +296,19 @@ public class LocationSearchService {
 
     private List<StationRepository.StationWithDistance> determineFilterFieldInSearching(
             NearbyStationSearchRequest request) {
+        if (stationIndexEnabled) {
+            Optional<List<StationRepository.StationWithDistance>> indexed = stationSpatialIndex.findWithinRadius(
+                    request.getLatitude().doubleValue(),
+                    request.getLongitude().doubleValue(),
+                    request.getRadiusKm(),
+                    request.getMinRating(),
+                    request.getLimit());
+            if (indexed.isPresent()) {
+                return indexed.get();
+            }
+        }
+
+        // Index chưa sẵn sàng hoặc bị tắt -> truy vấn PostGIS
         Double radiusMeters = request.getRadiusKm() * 1000.0;
 
         if(request.getMinRating() != null) {
@@ -0,0 +1,78 @@
+package com.project.evrental.service.search;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * In-memory LRU cache of driving distances from a geohash cell to a station.
+ * Entries expire after a TTL and the least recently used ones are evicted once
+ * the cache reaches its maximum size.
+ */
+@Slf4j
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RouteDistanceCache {
+
+    public record RouteInfo(Double distanceKm, Double durationSeconds) {
+    }
+
+    private record Entry(RouteInfo route, long expiresAtMillis) {
+    }
+
+    @NonFinal
+    @Value("${location.route-cache.geohash-precision:7}")
+    int geohashPrecision;
+
+    @NonFinal
+    @Value("${location.route-cache.ttl:PT30M}")
+    Duration ttl;
+
+    @NonFinal
+    @Value("${location.route-cache.max-entries:50000}")
+    int maxEntries;
+
+    final Map<String, Entry> entries = new LinkedHashMap<>(1024, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    public String originCell(double latitude, double longitude) {
+        return GeoHash.encode(latitude, longitude, geohashPrecision);
+    }
+
+    public synchronized RouteInfo get(String originCell, UUID stationId) {
+        String key = key(originCell, stationId);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() <= System.currentTimeMillis()) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.route();
+    }
+
+    public synchronized void put(String originCell, UUID stationId, RouteInfo route) {
+        entries.put(key(originCell, stationId), new Entry(route, System.currentTimeMillis() + ttl.toMillis()));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static String key(String originCell, UUID stationId) {
+        return originCell + ":" + stationId;
+    }
+}
@@ -0,0 +1,160 @@
+package com.project.evrental.service.search;
+
+import com.project.evrental.domain.common.StationStatus;
+import com.project.evrental.domain.entity.Station;
+import com.project.evrental.repository.StationRepository;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * In-process grid index over active stations, answering radius queries without
+ * a PostGIS round trip. The index is an immutable snapshot swapped atomically
+ * on rebuild; until the first build completes callers fall back to the database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class StationSpatialIndex {
+
+    private static final double CELL_DEGREES = 0.1;
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = 111.32;
+
+    StationRepository stationRepository;
+
+    @NonFinal
+    volatile Map<Long, List<IndexedStation>> cells;
+
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        Map<Long, List<IndexedStation>> grid = new HashMap<>();
+        int count = 0;
+        for (Station station : stationRepository.findAll()) {
+            if (station.getStatus() != StationStatus.ACTIVE
+                    || station.getLatitude() == null || station.getLongitude() == null) {
+                continue;
+            }
+            IndexedStation indexed = IndexedStation.from(station);
+            grid.computeIfAbsent(cellKey(cellOf(indexed.lat), cellOf(indexed.lon)), k -> new ArrayList<>())
+                    .add(indexed);
+            count++;
+        }
+        cells = grid;
+        log.info("Station spatial index rebuilt with {} active stations in {} cells", count, grid.size());
+    }
+
+    /**
+     * Active stations within {@code radiusKm}, nearest first, or empty when the index is not built yet.
+     */
+    public Optional<List<StationRepository.StationWithDistance>> findWithinRadius(
+            double latitude, double longitude, double radiusKm, Double minRating, int limit) {
+        Map<Long, List<IndexedStation>> snapshot = cells;
+        if (snapshot == null) {
+            return Optional.empty();
+        }
+
+        double latDelta = radiusKm / KM_PER_DEGREE;
+        double lonDelta = radiusKm / (KM_PER_DEGREE * Math.max(Math.cos(Math.toRadians(latitude)), 0.01));
+
+        List<IndexedStation> hits = new ArrayList<>();
+        for (int latCell = cellOf(latitude - latDelta); latCell <= cellOf(latitude + latDelta); latCell++) {
+            for (int lonCell = cellOf(longitude - lonDelta); lonCell <= cellOf(longitude + lonDelta); lonCell++) {
+                List<IndexedStation> bucket = snapshot.get(cellKey(latCell, lonCell));
+                if (bucket == null) {
+                    continue;
+                }
+                for (IndexedStation station : bucket) {
+                    if (minRating != null && (station.getRating() == null || station.getRating() < minRating)) {
+                        continue;
+                    }
+                    double distanceKm = haversineKm(latitude, longitude, station.lat, station.lon);
+                    if (distanceKm <= radiusKm) {
+                        hits.add(station.toBuilder().distanceKm(distanceKm).build());
+                    }
+                }
+            }
+        }
+
+        return Optional.of(hits.stream()
+                .sorted(Comparator.comparingDouble(IndexedStation::getDistanceKm))
+                .limit(limit)
+                .map(StationRepository.StationWithDistance.class::cast)
+                .toList());
+    }
+
+    private static int cellOf(double degrees) {
+        return (int) Math.floor(degrees / CELL_DEGREES);
+    }
+
+    private static long cellKey(int latCell, int lonCell) {
+        return ((long) latCell << 32) | (lonCell & 0xffffffffL);
+    }
+
+    static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+
+    @Value
+    @Builder(toBuilder = true)
+    static class IndexedStation implements StationRepository.StationWithDistance {
+        UUID id;
+        String name;
+        String address;
+        Double rating;
+        BigDecimal latitude;
+        BigDecimal longitude;
+        String hotline;
+        String status;
+        String photo;
+        LocalDateTime startTime;
+        LocalDateTime endTime;
+        LocalDateTime createdAt;
+        LocalDateTime updatedAt;
+        Double distanceKm;
+        double lat;
+        double lon;
+
+        static IndexedStation from(Station station) {
+            return IndexedStation.builder()
+                    .id(station.getId())
+                    .name(station.getName())
+                    .address(station.getAddress())
+                    .rating(station.getRating())
+                    .latitude(station.getLatitude())
+                    .longitude(station.getLongitude())
+                    .hotline(station.getHotline())
+                    .status(station.getStatus().name())
+                    .photo(station.getPhoto())
+                    .startTime(station.getStartTime())
+                    .endTime(station.getEndTime())
+                    .createdAt(station.getCreatedAt())
+                    .updatedAt(station.getUpdatedAt())
+                    .lat(station.getLatitude().doubleValue())
+                    .lon(station.getLongitude().doubleValue())
+                    .build();
+        }
+    }
+}
@@ -1,12 +1,15 @@
 package com.project.evrental.service.staff;
 
 import com.project.evrental.domain.common.BookingStatus;
+import com.project.evrental.domain.dto.response.BookingResponse;
 import com.project.evrental.domain.entity.Booking;
 import com.project.evrental.domain.entity.User;
+import com.project.evrental.mapper.BookingMapper;
 import com.project.evrental.repository.BookingRepository;
 import com.project.evrental.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -17,11 +20,14 @@ public class StaffService {
 
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
+    private final BookingMapper bookingMapper;
 
     /**
-     * Staff confirms a booking for a user
+     * Staff confirms a booking for a user. The response is mapped here, while the booking's lazy
+     * associations can still be loaded.
      */
-    public Booking confirmBooking(UUID bookingId, UUID staffId) {
+    @Transactional
+    public BookingResponse confirmBooking(UUID bookingId, UUID staffId) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
 
@@ -36,7 +42,7 @@ public class StaffService {
         booking.setCheckedOutBy(staff);
         booking.setUpdatedAt(LocalDateTime.now());
 
-        return bookingRepository.save(booking);
+        return bookingMapper.toResponse(bookingRepository.save(booking));
     }
 
     /**
@@ -0,0 +1,55 @@
+package com.project.evrental.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks which kind of threads the integration executors hand out and that the bounded ones keep
+ * their bounds. How they behave under load is not measured here.
+ */
+class AsyncConfigTest {
+
+    private final AsyncConfig asyncConfig = new AsyncConfig();
+
+    @Test
+    void virtualIntegrationExecutorRunsTasksOnVirtualThreads() {
+        AsyncTaskExecutor executor = asyncConfig.integrationExecutor(true, 16);
+
+        assertThat(isVirtual(executor)).succeedsWithin(Duration.ofSeconds(5)).isEqualTo(true);
+    }
+
+    @Test
+    void platformIntegrationExecutorIsAFixedPool() {
+        ThreadPoolTaskExecutor executor = (ThreadPoolTaskExecutor) asyncConfig.integrationExecutor(false, 16);
+        try {
+            assertThat(executor.getCorePoolSize()).isEqualTo(16);
+            assertThat(executor.getMaxPoolSize()).isEqualTo(16);
+            assertThat(isVirtual(executor)).succeedsWithin(Duration.ofSeconds(5)).isEqualTo(false);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void routeMatrixExecutorKeepsItsBoundWithVirtualThreads() {
+        ThreadPoolTaskExecutor executor = asyncConfig.routeMatrixExecutor(true, 4, 100);
+        try {
+            assertThat(executor.getCorePoolSize()).isEqualTo(4);
+            assertThat(executor.getMaxPoolSize()).isEqualTo(4);
+            assertThat(executor.getQueueCapacity()).isEqualTo(100);
+            assertThat(isVirtual(executor)).succeedsWithin(Duration.ofSeconds(5)).isEqualTo(true);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static Future<Boolean> isVirtual(AsyncTaskExecutor executor) {
+        return executor.submit(() -> Thread.currentThread().isVirtual());
+    }
+}
@@ -0,0 +1,173 @@
+package com.project.evrental.repository;
+
+import com.project.evrental.domain.common.BookingStatus;
+import com.project.evrental.domain.common.FuelType;
+import com.project.evrental.domain.common.PaymentStatus;
+import com.project.evrental.domain.common.StationStatus;
+import com.project.evrental.domain.common.UserRole;
+import com.project.evrental.domain.common.VehicleStatus;
+import com.project.evrental.domain.entity.Booking;
+import com.project.evrental.domain.entity.Station;
+import com.project.evrental.domain.entity.User;
+import com.project.evrental.domain.entity.Vehicle;
+import com.project.evrental.mapper.BookingMapper;
+import com.project.evrental.mapper.StationMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.PageRequest;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Listing bookings and mapping them to {@code BookingResponse} must cost the same number of
+ * statements for 3 bookings as for 15, i.e. associations are not lazily loaded per row.
+ * Every booking gets its own renter, staff, vehicle and station so an N+1 would show.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@Disabled("Needs Docker for the PostGIS container; enable once CI runs Testcontainers")
+class BookingRepositoryQueryCountTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgis/postgis:16-3.4").asCompatibleSubstituteFor("postgres"));
+
+    @Autowired
+    BookingRepository bookingRepository;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    BookingMapper bookingMapper = new BookingMapper(new StationMapper());
+
+    Statistics statistics;
+
+    int created;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void pagedListingIssuesConstantStatements() {
+        Supplier<Integer> listPage = () -> bookingRepository.findAllWithSummaryBy(PageRequest.of(0, 50))
+                .map(bookingMapper::toResponse).getNumberOfElements();
+
+        createBookings(3);
+        long few = countStatements(listPage, 3);
+        createBookings(12);
+        long many = countStatements(listPage, 15);
+
+        assertThat(many).isEqualTo(few);
+    }
+
+    @Test
+    void listingByStatusIssuesConstantStatements() {
+        Supplier<Integer> listByStatus = () -> bookingRepository.findWithSummaryByStatus(BookingStatus.PENDING).stream()
+                .map(bookingMapper::toResponse).toList().size();
+
+        createBookings(3);
+        long few = countStatements(listByStatus, 3);
+        createBookings(12);
+        long many = countStatements(listByStatus, 15);
+
+        assertThat(many).isEqualTo(few);
+    }
+
+    // completeBooking maps the booking after its transaction has ended, and open-in-view is off
+    @Test
+    void summaryByIdCanBeMappedOnceDetached() {
+        createBookings(1);
+        entityManager.flush();
+        entityManager.clear();
+
+        Booking booking = bookingRepository.findWithSummaryById(
+                bookingRepository.findByBookingCode("BK-TEST-0").orElseThrow().getId()).orElseThrow();
+        entityManager.clear();
+
+        assertThat(bookingMapper.toResponse(booking).getRenterName()).isEqualTo("renter0");
+    }
+
+    private long countStatements(Supplier<Integer> listing, int expectedRows) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        assertThat(listing.get()).isEqualTo(expectedRows);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void createBookings(int count) {
+        for (int i = 0; i < count; i++) {
+            int n = created++;
+            Station station = entityManager.persist(Station.builder()
+                    .name("Station " + n)
+                    .address(n + " Nguyen Hue, District 1")
+                    .latitude(new BigDecimal("10.77432100"))
+                    .longitude(new BigDecimal("106.70381200"))
+                    .status(StationStatus.ACTIVE)
+                    .build());
+            Vehicle vehicle = entityManager.persist(Vehicle.builder()
+                    .station(station)
+                    .licensePlate("51H-" + n)
+                    .name("VinFast VF 8")
+                    .brand("VinFast")
+                    .fuelType(FuelType.ELECTRICITY)
+                    .status(VehicleStatus.AVAILABLE)
+                    .rentCount(0)
+                    .hourlyRate(new BigDecimal("120000"))
+                    .dailyRate(new BigDecimal("1500000"))
+                    .depositAmount(new BigDecimal("5000000"))
+                    .build());
+            User renter = entityManager.persist(user("renter" + n, UserRole.RENTER));
+            User staff = entityManager.persist(user("staff" + n, UserRole.STAFF));
+
+            LocalDateTime start = LocalDateTime.now().plusDays(n + 1);
+            entityManager.persist(Booking.builder()
+                    .bookingCode("BK-TEST-" + n)
+                    .renter(renter)
+                    .vehicle(vehicle)
+                    .station(station)
+                    .startTime(start)
+                    .expectedEndTime(start.plusHours(8))
+                    .status(BookingStatus.PENDING)
+                    .checkedOutBy(staff)
+                    .checkedInBy(staff)
+                    .basePrice(new BigDecimal("1500000"))
+                    .depositPaid(BigDecimal.ZERO)
+                    .totalAmount(new BigDecimal("6500000"))
+                    .paymentStatus(PaymentStatus.PENDING)
+                    .build());
+        }
+    }
+
+    private static User user(String name, UserRole role) {
+        return User.builder()
+                .email(name + "@example.com")
+                .fullName(name)
+                .cognitoSub(name)
+                .role(role)
+                .build();
+    }
+}
@@ -0,0 +1,132 @@
+package com.project.evrental.service.reservation;
+
+import com.project.evrental.domain.entity.Booking;
+import com.project.evrental.domain.entity.Vehicle;
+import com.project.evrental.repository.BookingRepository;
+import com.project.evrental.service.reservation.ReservationEngine.Slot;
+import com.project.evrental.service.reservation.ReservationEngine.VehicleSchedule;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReservationEngineTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.now().plusDays(1).withNano(0);
+
+    @Test
+    void findOverlapDetectsOverlappingSlots() {
+        VehicleSchedule schedule = new VehicleSchedule(List.of(slot(10, 12), slot(14, 16)));
+
+        assertThat(schedule.findOverlap(slot(11, 13))).isNotNull();
+        assertThat(schedule.findOverlap(slot(15, 18))).isNotNull();
+        assertThat(schedule.findOverlap(slot(9, 17))).isNotNull();
+    }
+
+    @Test
+    void findOverlapTreatsSlotsAsHalfOpen() {
+        VehicleSchedule schedule = new VehicleSchedule(List.of(slot(10, 12), slot(14, 16)));
+
+        assertThat(schedule.findOverlap(slot(12, 14))).isNull();
+        assertThat(schedule.findOverlap(slot(8, 10))).isNull();
+        assertThat(schedule.findOverlap(slot(16, 18))).isNull();
+    }
+
+    @Test
+    void findOverlapIgnoresTheCandidatesOwnBooking() {
+        Slot booked = slot(10, 12);
+        VehicleSchedule schedule = new VehicleSchedule(List.of(booked));
+
+        Slot moved = new Slot(booked.bookingId(), at(11), at(13));
+
+        assertThat(schedule.findOverlap(moved)).isNull();
+    }
+
+    @Test
+    void putReplacesTheBookingsEarlierSlot() {
+        Slot booked = slot(10, 12);
+        VehicleSchedule schedule = new VehicleSchedule(List.of(booked));
+
+        schedule.put(new Slot(booked.bookingId(), at(14), at(16)));
+
+        assertThat(schedule.findOverlap(slot(10, 12))).isNull();
+        assertThat(schedule.findOverlap(slot(15, 17))).extracting(Slot::bookingId).isEqualTo(booked.bookingId());
+    }
+
+    @Test
+    void removeFreesTheSlot() {
+        Slot booked = slot(10, 12);
+        VehicleSchedule schedule = new VehicleSchedule(List.of(booked, slot(14, 16)));
+
+        schedule.remove(booked.bookingId());
+        schedule.remove(UUID.randomUUID());
+
+        assertThat(schedule.findOverlap(slot(10, 12))).isNull();
+        assertThat(schedule.findOverlap(slot(14, 16))).isNotNull();
+    }
+
+    @Test
+    void pruneEndedDropsOnlySlotsInThePast() {
+        LocalDateTime now = LocalDateTime.now();
+        Slot ended = new Slot(UUID.randomUUID(), now.minusHours(3), now.minusHours(2));
+        Slot ongoing = new Slot(UUID.randomUUID(), now.minusHours(1), now.plusHours(1));
+        VehicleSchedule schedule = new VehicleSchedule(List.of(ongoing, ended));
+
+        schedule.pruneEnded();
+
+        assertThat(schedule.findOverlap(new Slot(null, ended.start(), ended.end()))).isNull();
+        assertThat(schedule.findOverlap(new Slot(null, now.minusMinutes(1), now))).isEqualTo(ongoing);
+    }
+
+    @Test
+    void reloadKeepsReservationsThatHaveNotCommitted() {
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        when(bookingRepository.findActiveReservationSlots(any(), any())).thenReturn(List.of());
+        ReservationEngine engine = new ReservationEngine(bookingRepository);
+        // Every access reloads the calendar
+        ReflectionTestUtils.setField(engine, "scheduleTtl", Duration.ZERO);
+        Booking booking = booking(10, 12);
+        UUID vehicleId = booking.getVehicle().getId();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            engine.reserve(booking);
+
+            assertThat(engine.isFree(vehicleId, at(11), at(13))).isFalse();
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(engine.isFree(vehicleId, at(11), at(13))).isTrue();
+    }
+
+    private static Booking booking(int startHour, int endHour) {
+        return Booking.builder()
+                .id(UUID.randomUUID())
+                .vehicle(Vehicle.builder().id(UUID.randomUUID()).build())
+                .startTime(at(startHour))
+                .expectedEndTime(at(endHour))
+                .build();
+    }
+
+    private static Slot slot(int startHour, int endHour) {
+        return new Slot(UUID.randomUUID(), at(startHour), at(endHour));
+    }
+
+    private static LocalDateTime at(int hour) {
+        return BASE.withHour(0).withMinute(0).withSecond(0).plusHours(hour);
+    }
+}